@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.dynamicftp;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.messaging.MessageChannel;
+
+/**
+ * Creates a private application context for each customer, as the
+ * {@link DynamicFtpChannelResolver} does; the channel is the inbound channel to that
+ * application context.
+ *
+ * @author Artem Bilan
+ */
+public class ChildContextCustomerChannelFactory implements CustomerChannelFactory {
+
+	private final Map<MessageChannel, ConfigurableApplicationContext> contexts = new ConcurrentHashMap<>();
+
+	@Override
+	public MessageChannel createChannel(String customer) {
+		ConfigurableApplicationContext ctx = new ClassPathXmlApplicationContext(
+				new String[] { "/META-INF/spring/integration/dynamic-ftp-outbound-adapter-context.xml" },
+				false);
+		setEnvironmentForCustomer(ctx, customer);
+		ctx.refresh();
+		MessageChannel channel = ctx.getBean("toFtpChannel", MessageChannel.class);
+		this.contexts.put(channel, ctx);
+		return channel;
+	}
+
+	@Override
+	public void destroyChannel(String customer, MessageChannel channel) {
+		ConfigurableApplicationContext ctx = this.contexts.remove(channel);
+		if (ctx != null) {
+			ctx.close();
+		}
+	}
+
+	private static void setEnvironmentForCustomer(ConfigurableApplicationContext ctx, String customer) {
+		StandardEnvironment env = new StandardEnvironment();
+		Properties props = new Properties();
+		// populate properties for customer
+		props.setProperty("host", "host.for." + customer);
+		props.setProperty("user", "user");
+		props.setProperty("password", "password");
+		props.setProperty("remote.directory", "/tmp");
+		PropertiesPropertySource pps = new PropertiesPropertySource("ftpprops", props);
+		env.getPropertySources().addLast(pps);
+		ctx.setEnvironment(env);
+	}
+
+}
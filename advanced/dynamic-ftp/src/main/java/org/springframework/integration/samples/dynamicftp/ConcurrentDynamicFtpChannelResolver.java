@@ -0,0 +1,263 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.dynamicftp;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+
+/**
+ * A thread-safe alternative to the {@link DynamicFtpChannelResolver}, for many customers
+ * resolved concurrently.
+ * <ul>
+ * <li>The channel of a customer is created by the thread which first resolves it, while
+ * the other threads resolving that customer wait for it; the customers already created
+ * are resolved without any lock.</li>
+ * <li>When a customer is created, the customers idle for longer than {@code maxIdle} are
+ * evicted, and then the least recently used ones while there are more than
+ * {@code maxCustomers}; {@link #evictIdle()} may also be scheduled.</li>
+ * <li>The resolved channel counts the messages being sent to the channel of the
+ * customer: an evicted channel is only destroyed once the last of them has been sent,
+ * and a message sent to it after its eviction goes to a newly created one.</li>
+ * </ul>
+ * The channels are created with a {@link CustomerChannelFactory}, by default a
+ * {@link ChildContextCustomerChannelFactory}.
+ *
+ * @author Artem Bilan
+ */
+public class ConcurrentDynamicFtpChannelResolver implements DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(ConcurrentDynamicFtpChannelResolver.class);
+
+	private final Map<String, CustomerChannel> channels = new ConcurrentHashMap<>();
+
+	private final int maxCustomers;
+
+	private final long maxIdle;
+
+	private final CustomerChannelFactory channelFactory;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final LongAdder buildNanos = new LongAdder();
+
+	public ConcurrentDynamicFtpChannelResolver(int maxCustomers, Duration maxIdle) {
+		this(maxCustomers, maxIdle, new ChildContextCustomerChannelFactory());
+	}
+
+	public ConcurrentDynamicFtpChannelResolver(int maxCustomers, Duration maxIdle,
+			CustomerChannelFactory channelFactory) {
+
+		this.maxCustomers = maxCustomers;
+		this.maxIdle = maxIdle.toNanos();
+		this.channelFactory = channelFactory;
+	}
+
+	/**
+	 * Resolve a customer to a channel, created by the {@link CustomerChannelFactory} on the
+	 * first resolution of the customer, or after its eviction.
+	 *
+	 * @param customer the customer
+	 * @return a channel
+	 */
+	public MessageChannel resolve(String customer) {
+		CustomerChannel channel = this.channels.get(customer);
+		if (channel == null) {
+			CustomerChannel created = new CustomerChannel(customer);
+			channel = this.channels.putIfAbsent(customer, created);
+			if (channel == null) {
+				this.misses.increment();
+				create(created);
+				evict();
+				return created;
+			}
+		}
+		this.hits.increment();
+		channel.awaitTarget();
+		channel.lastUsed = System.nanoTime();
+		return channel;
+	}
+
+	private void create(CustomerChannel channel) {
+		long start = System.nanoTime();
+		try {
+			channel.target.complete(this.channelFactory.createChannel(channel.customer));
+		}
+		catch (RuntimeException e) {
+			this.channels.remove(channel.customer, channel);
+			channel.target.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			this.buildNanos.add(System.nanoTime() - start);
+		}
+		channel.lastUsed = System.nanoTime();
+	}
+
+	/**
+	 * Evict the customers idle for longer than {@code maxIdle}.
+	 */
+	public void evictIdle() {
+		long now = System.nanoTime();
+		this.channels.values().forEach(channel -> {
+			if (channel.target.isDone() && now - channel.lastUsed > this.maxIdle) {
+				evict(channel);
+			}
+		});
+	}
+
+	private void evict() {
+		evictIdle();
+		while (this.channels.size() > this.maxCustomers) {
+			CustomerChannel eldest = null;
+			for (CustomerChannel channel : this.channels.values()) {
+				if (channel.target.isDone() && (eldest == null || channel.lastUsed - eldest.lastUsed < 0)) {
+					eldest = channel;
+				}
+			}
+			if (eldest == null) {
+				return;
+			}
+			evict(eldest);
+		}
+	}
+
+	private void evict(CustomerChannel channel) {
+		if (this.channels.remove(channel.customer, channel)) {
+			this.evictions.increment();
+			channel.retire();
+		}
+	}
+
+	/**
+	 * @return the statistics of this resolver.
+	 */
+	public Statistics getStatistics() {
+		long misses = this.misses.sum();
+		return new Statistics(this.channels.size(), this.hits.sum(), misses, this.evictions.sum(),
+				misses == 0 ? 0 : this.buildNanos.sum() / misses / 1_000_000d);
+	}
+
+	@Override
+	public void destroy() {
+		this.channels.values().forEach(this::evict);
+	}
+
+	/**
+	 * @param customers the number of customers cached.
+	 * @param hits the number of resolutions of a cached customer.
+	 * @param misses the number of channels created.
+	 * @param evictions the number of customers evicted.
+	 * @param averageBuildMillis the average time to create a channel, in milliseconds.
+	 */
+	public record Statistics(int customers, long hits, long misses, long evictions, double averageBuildMillis) {
+	}
+
+	/**
+	 * The channel returned for a customer, which sends to the channel created by the
+	 * {@link CustomerChannelFactory} while it is not retired.
+	 */
+	private final class CustomerChannel implements MessageChannel {
+
+		private final String customer;
+
+		private final CompletableFuture<MessageChannel> target = new CompletableFuture<>();
+
+		private final AtomicInteger sending = new AtomicInteger();
+
+		private final AtomicBoolean destroyed = new AtomicBoolean();
+
+		private volatile boolean retired;
+
+		private volatile long lastUsed = System.nanoTime();
+
+		CustomerChannel(String customer) {
+			this.customer = customer;
+		}
+
+		@Override
+		public boolean send(Message<?> message, long timeout) {
+			this.sending.incrementAndGet();
+			try {
+				if (!this.retired) {
+					this.lastUsed = System.nanoTime();
+					return awaitTarget().send(message, timeout);
+				}
+			}
+			finally {
+				if (this.sending.decrementAndGet() == 0 && this.retired) {
+					destroy();
+				}
+			}
+			return resolve(this.customer).send(message, timeout);
+		}
+
+		MessageChannel awaitTarget() {
+			try {
+				return this.target.join();
+			}
+			catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				throw e;
+			}
+		}
+
+		void retire() {
+			this.retired = true;
+			if (this.sending.get() == 0) {
+				destroy();
+			}
+		}
+
+		private void destroy() {
+			if (this.destroyed.compareAndSet(false, true)) {
+				try {
+					ConcurrentDynamicFtpChannelResolver.this.channelFactory.destroyChannel(this.customer,
+							this.target.join());
+				}
+				catch (RuntimeException e) {
+					logger.error("Failed to destroy the channel of " + this.customer, e);
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "CustomerChannel[" + this.customer + "]";
+		}
+
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.dynamicftp;
+
+import org.springframework.messaging.MessageChannel;
+
+/**
+ * Creates the channel to the ftp adapter of a customer for the
+ * {@link ConcurrentDynamicFtpChannelResolver}, and releases its resources once the
+ * resolver has evicted it.
+ *
+ * @author Artem Bilan
+ */
+public interface CustomerChannelFactory {
+
+	/**
+	 * @param customer the customer.
+	 * @return the channel to the ftp adapter of the customer.
+	 */
+	MessageChannel createChannel(String customer);
+
+	/**
+	 * Called once no message is being sent to the channel any more.
+	 * @param customer the customer.
+	 * @param channel the channel returned by {@link #createChannel(String)}.
+	 */
+	void destroyChannel(String customer, MessageChannel channel);
+
+}
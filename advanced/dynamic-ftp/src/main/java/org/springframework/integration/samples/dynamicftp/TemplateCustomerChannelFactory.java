@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.dynamicftp;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.net.ftp.FTPFile;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.expression.Expression;
+import org.springframework.expression.common.LiteralExpression;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.file.DefaultFileNameGenerator;
+import org.springframework.integration.file.FileNameGenerator;
+import org.springframework.integration.file.remote.session.CachingSessionFactory;
+import org.springframework.integration.ftp.outbound.FtpMessageHandler;
+import org.springframework.integration.ftp.session.DefaultFtpSessionFactory;
+import org.springframework.messaging.MessageChannel;
+
+/**
+ * Creates the ftp adapter of each customer programmatically, rather than with an
+ * application context per customer as the {@link ChildContextCustomerChannelFactory}
+ * does: the same adapter as in {@code dynamic-ftp-outbound-adapter-context.xml}, with
+ * the remote directory expression, the file name generator and the bean factory (with
+ * its conversion service and evaluation context) of this factory shared by all the
+ * customers. The sessions of each customer are pooled by a {@link CachingSessionFactory}
+ * and reused by all the messages sent to that customer, and closed when its channel is
+ * destroyed.
+ *
+ * @author Artem Bilan
+ */
+public class TemplateCustomerChannelFactory implements CustomerChannelFactory, BeanFactoryAware {
+
+	private final Map<MessageChannel, CustomerAdapter> adapters = new ConcurrentHashMap<>();
+
+	private final FileNameGenerator fileNameGenerator = new DefaultFileNameGenerator();
+
+	private Expression remoteDirectoryExpression = new LiteralExpression("/tmp");
+
+	private int sessionCacheSize = 10;
+
+	private BeanFactory beanFactory;
+
+	/**
+	 * @param remoteDirectory the remote directory of all the customers (default /tmp).
+	 */
+	public void setRemoteDirectory(String remoteDirectory) {
+		this.remoteDirectoryExpression = new LiteralExpression(remoteDirectory);
+	}
+
+	/**
+	 * @param sessionCacheSize the maximum number of ftp sessions of a customer (default 10).
+	 */
+	public void setSessionCacheSize(int sessionCacheSize) {
+		this.sessionCacheSize = sessionCacheSize;
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+		this.beanFactory = beanFactory;
+	}
+
+	@Override
+	public MessageChannel createChannel(String customer) {
+		CachingSessionFactory<FTPFile> sessionFactory =
+				new CachingSessionFactory<>(createSessionFactory(customer), this.sessionCacheSize);
+		FtpMessageHandler handler = new FtpMessageHandler(sessionFactory);
+		handler.setRemoteDirectoryExpression(this.remoteDirectoryExpression);
+		handler.setFileNameGenerator(this.fileNameGenerator);
+		handler.setComponentName("ftpOutbound." + customer);
+		DirectChannel channel = new DirectChannel();
+		channel.setComponentName("toFtpChannel." + customer);
+		if (this.beanFactory != null) {
+			handler.setBeanFactory(this.beanFactory);
+			channel.setBeanFactory(this.beanFactory);
+		}
+		handler.afterPropertiesSet();
+		channel.afterPropertiesSet();
+		channel.subscribe(handler);
+		this.adapters.put(channel, new CustomerAdapter(handler, sessionFactory));
+		return channel;
+	}
+
+	/**
+	 * Create the session factory of a customer; the properties of the customer are the
+	 * same as those of the {@link ChildContextCustomerChannelFactory}.
+	 * @param customer the customer.
+	 * @return the session factory.
+	 */
+	protected DefaultFtpSessionFactory createSessionFactory(String customer) {
+		DefaultFtpSessionFactory sessionFactory = new DefaultFtpSessionFactory();
+		sessionFactory.setHost("host.for." + customer);
+		sessionFactory.setUsername("user");
+		sessionFactory.setPassword("password");
+		return sessionFactory;
+	}
+
+	@Override
+	public void destroyChannel(String customer, MessageChannel channel) {
+		CustomerAdapter adapter = this.adapters.remove(channel);
+		if (adapter != null) {
+			((DirectChannel) channel).unsubscribe(adapter.handler());
+			adapter.sessionFactory().destroy();
+		}
+	}
+
+	private record CustomerAdapter(FtpMessageHandler handler, CachingSessionFactory<FTPFile> sessionFactory) {
+	}
+
+}
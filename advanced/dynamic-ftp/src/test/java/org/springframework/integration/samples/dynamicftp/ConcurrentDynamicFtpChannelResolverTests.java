@@ -0,0 +1,238 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.dynamicftp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the {@link ConcurrentDynamicFtpChannelResolver}, and a benchmark of hundreds
+ * of customers resolved from many threads, with channels created per key or under a
+ * single lock as in the {@link DynamicFtpChannelResolver}.
+ *
+ * @author Artem Bilan
+ */
+public class ConcurrentDynamicFtpChannelResolverTests {
+
+	private static final Log LOGGER = LogFactory.getLog(ConcurrentDynamicFtpChannelResolverTests.class);
+
+	private static final int THREADS = 16;
+
+	private static final int CUSTOMERS = 500;
+
+	private static final int MAX_CUSTOMERS = 200;
+
+	private static final int SENDS_PER_THREAD = 5_000;
+
+	@Test
+	public void testResolveAndEvictLeastRecentlyUsed() {
+		TestChannelFactory factory = new TestChannelFactory(0);
+		ConcurrentDynamicFtpChannelResolver resolver =
+				new ConcurrentDynamicFtpChannelResolver(2, Duration.ofMinutes(10), factory);
+		MessageChannel channel1 = resolver.resolve("customer1");
+		assertThat(resolver.resolve("customer2")).isNotSameAs(channel1);
+		assertThat(resolver.resolve("customer1")).isSameAs(channel1);
+		resolver.resolve("customer3");
+
+		assertThat(factory.destroyed).containsExactly("customer2");
+		assertThat(resolver.getStatistics())
+				.isEqualTo(new ConcurrentDynamicFtpChannelResolver.Statistics(2, 1, 3, 1,
+						resolver.getStatistics().averageBuildMillis()));
+
+		resolver.destroy();
+		assertThat(factory.destroyed).containsExactlyInAnyOrder("customer1", "customer2", "customer3");
+	}
+
+	@Test
+	public void testEvictIdle() throws InterruptedException {
+		TestChannelFactory factory = new TestChannelFactory(0);
+		ConcurrentDynamicFtpChannelResolver resolver =
+				new ConcurrentDynamicFtpChannelResolver(10, Duration.ofMillis(50), factory);
+		resolver.resolve("customer1");
+		Thread.sleep(100);
+		resolver.evictIdle();
+		assertThat(factory.destroyed).containsExactly("customer1");
+		assertThat(resolver.getStatistics().customers()).isZero();
+	}
+
+	@Test
+	public void testChannelDestroyedOnlyOnceIdle() throws Exception {
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		TestChannelFactory factory = new TestChannelFactory(0) {
+
+			@Override
+			protected boolean send(String customer, Message<?> message) throws InterruptedException {
+				if ("blocked".equals(message.getPayload())) {
+					sending.countDown();
+					return release.await(10, TimeUnit.SECONDS);
+				}
+				return super.send(customer, message);
+			}
+
+		};
+		ConcurrentDynamicFtpChannelResolver resolver =
+				new ConcurrentDynamicFtpChannelResolver(1, Duration.ofMinutes(10), factory);
+		MessageChannel channel = resolver.resolve("customer1");
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Future<Boolean> sent = executor.submit(() -> channel.send(MessageBuilder.withPayload("blocked").build()));
+		assertThat(sending.await(10, TimeUnit.SECONDS)).isTrue();
+
+		resolver.resolve("customer2");
+		assertThat(resolver.getStatistics().evictions()).isEqualTo(1);
+		assertThat(factory.destroyed).isEmpty();
+
+		release.countDown();
+		assertThat(sent.get(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(factory.destroyed).containsExactly("customer1");
+
+		// a send after the eviction goes to a new channel of the customer
+		assertThat(channel.send(MessageBuilder.withPayload("late").build())).isTrue();
+		assertThat(factory.created.get()).isEqualTo(3);
+		executor.shutdown();
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void sendsPerSecond() throws Exception {
+		for (int round = 1; round <= 3; round++) {
+			TestChannelFactory perKey = new TestChannelFactory(5);
+			double perKeyRate = sendsPerSecond(perKey);
+			TestChannelFactory singleLock = new TestChannelFactory(5) {
+
+				@Override
+				public synchronized MessageChannel createChannel(String customer) {
+					return super.createChannel(customer);
+				}
+
+			};
+			double singleLockRate = sendsPerSecond(singleLock);
+			LOGGER.info(String.format("Round %d, %d customers, %d cached: creation per customer %,.0f sends/sec, "
+					+ "creation under a single lock %,.0f sends/sec",
+					round, CUSTOMERS, MAX_CUSTOMERS, perKeyRate, singleLockRate));
+		}
+	}
+
+	private static double sendsPerSecond(TestChannelFactory factory) throws Exception {
+		ConcurrentDynamicFtpChannelResolver resolver =
+				new ConcurrentDynamicFtpChannelResolver(MAX_CUSTOMERS, Duration.ofMinutes(10), factory);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> results = new ArrayList<>();
+		Message<String> message = MessageBuilder.withPayload("file").build();
+		long start = System.nanoTime();
+		for (int i = 0; i < THREADS; i++) {
+			results.add(executor.submit(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int j = 0; j < SENDS_PER_THREAD; j++) {
+					// 80% of the sends to 20% of the customers
+					int customer = random.nextInt(10) < 8
+							? random.nextInt(CUSTOMERS / 5)
+							: random.nextInt(CUSTOMERS);
+					assertThat(resolver.resolve("customer" + customer).send(message)).isTrue();
+				}
+			}));
+		}
+		for (Future<?> result : results) {
+			result.get(5, TimeUnit.MINUTES);
+		}
+		long elapsed = System.nanoTime() - start;
+		executor.shutdown();
+		LOGGER.info("  " + resolver.getStatistics());
+		resolver.destroy();
+		assertThat(factory.destroyedChannels).hasSize(factory.created.get());
+		return THREADS * SENDS_PER_THREAD * 1_000_000_000d / elapsed;
+	}
+
+	/**
+	 * Creates channels in {@code buildMillis}, like a small application context, which fail
+	 * the sends once destroyed.
+	 */
+	private static class TestChannelFactory implements CustomerChannelFactory {
+
+		private final long buildMillis;
+
+		final AtomicInteger created = new AtomicInteger();
+
+		final Set<String> destroyed = ConcurrentHashMap.newKeySet();
+
+		final Set<MessageChannel> destroyedChannels = ConcurrentHashMap.newKeySet();
+
+		TestChannelFactory(long buildMillis) {
+			this.buildMillis = buildMillis;
+		}
+
+		@Override
+		public MessageChannel createChannel(String customer) {
+			try {
+				Thread.sleep(this.buildMillis);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+			this.created.incrementAndGet();
+			return new MessageChannel() {
+
+				@Override
+				public boolean send(Message<?> message, long timeout) {
+					assertThat(TestChannelFactory.this.destroyedChannels).doesNotContain(this);
+					try {
+						return TestChannelFactory.this.send(customer, message);
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return false;
+					}
+				}
+
+			};
+		}
+
+		protected boolean send(String customer, Message<?> message) throws InterruptedException {
+			return true;
+		}
+
+		@Override
+		public void destroyChannel(String customer, MessageChannel channel) {
+			assertThat(this.destroyedChannels.add(channel)).isTrue();
+			this.destroyed.add(customer);
+		}
+
+	}
+
+}
@@ -27,6 +27,7 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessagingException;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
@@ -91,4 +92,32 @@ public class FtpOutboundChannelAdapterSampleTests {
 		ctx.close();
 	}
 
+	@Test
+	public void runConcurrentDemo() throws Exception {
+		ConfigurableApplicationContext ctx =
+				new ClassPathXmlApplicationContext(
+						"META-INF/spring/integration/ConcurrentDynamicFtpOutboundChannelAdapterSample-context.xml");
+		MessageChannel channel = ctx.getBean("toDynRouter", MessageChannel.class);
+		File file = File.createTempFile("temp", "txt");
+
+		// cust1 is sent to twice, then evicted by cust3 as the least recently used customer
+		for (String customer : new String[] { "cust1", "cust1", "cust2", "cust3", "cust1" }) {
+			assertThatExceptionOfType(MessagingException.class)
+					.isThrownBy(() -> channel.send(
+							MessageBuilder.withPayload(file)
+									.setHeader("customer", customer)
+									.build()))
+					.withRootCauseInstanceOf(UnknownHostException.class)
+					.withStackTraceContaining("host.for." + customer);
+		}
+
+		ConcurrentDynamicFtpChannelResolver.Statistics statistics =
+				ctx.getBean(ConcurrentDynamicFtpChannelResolver.class).getStatistics();
+		assertThat(statistics.customers()).isEqualTo(2);
+		assertThat(statistics.hits()).isEqualTo(1);
+		assertThat(statistics.misses()).isEqualTo(4);
+		assertThat(statistics.evictions()).isEqualTo(2);
+		ctx.close();
+	}
+
 }
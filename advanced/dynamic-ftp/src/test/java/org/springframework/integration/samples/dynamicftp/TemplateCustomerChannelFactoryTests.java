@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.dynamicftp;
+
+import java.io.File;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for the {@link TemplateCustomerChannelFactory}, and a benchmark of the time and
+ * heap it takes to create the channels of many customers with that of the
+ * {@link ChildContextCustomerChannelFactory}.
+ *
+ * @author Artem Bilan
+ */
+public class TemplateCustomerChannelFactoryTests {
+
+	private static final Log LOGGER = LogFactory.getLog(TemplateCustomerChannelFactoryTests.class);
+
+	private static final int CUSTOMERS = 200;
+
+	@Test
+	public void testAdapterPerCustomer() throws Exception {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.refresh();
+		TemplateCustomerChannelFactory factory = new TemplateCustomerChannelFactory();
+		factory.setBeanFactory(context);
+		MessageChannel channel1 = factory.createChannel("cust1");
+		MessageChannel channel2 = factory.createChannel("cust2");
+		assertThat(channel1).isNotSameAs(channel2);
+
+		File file = File.createTempFile("temp", "txt");
+		file.deleteOnExit();
+		assertThatExceptionOfType(MessagingException.class)
+				.isThrownBy(() -> channel2.send(MessageBuilder.withPayload(file).build()))
+				.withRootCauseInstanceOf(UnknownHostException.class)
+				.withStackTraceContaining("host.for.cust2");
+
+		factory.destroyChannel("cust1", channel1);
+		factory.destroyChannel("cust2", channel2);
+		context.close();
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void startupAndFootprint() {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.refresh();
+		TemplateCustomerChannelFactory template = new TemplateCustomerChannelFactory();
+		template.setBeanFactory(context);
+		ChildContextCustomerChannelFactory childContexts = new ChildContextCustomerChannelFactory();
+		for (int round = 1; round <= 3; round++) {
+			double[] childContext = createChannels(childContexts, "child-" + round + "-");
+			double[] programmatic = createChannels(template, "template-" + round + "-");
+			LOGGER.info(String.format("Round %d, %d customers: child application contexts %.2f ms and %,.0f KB "
+							+ "per customer, programmatic adapters %.3f ms and %,.1f KB per customer", round, CUSTOMERS,
+					childContext[0], childContext[1], programmatic[0], programmatic[1]));
+		}
+		context.close();
+	}
+
+	/**
+	 * @return the milliseconds and the kilobytes of heap per customer.
+	 */
+	private static double[] createChannels(CustomerChannelFactory factory, String prefix) {
+		List<MessageChannel> channels = new ArrayList<>(CUSTOMERS);
+		long heap = usedHeap();
+		long start = System.nanoTime();
+		for (int i = 0; i < CUSTOMERS; i++) {
+			channels.add(factory.createChannel(prefix + i));
+		}
+		long elapsed = System.nanoTime() - start;
+		long footprint = usedHeap() - heap;
+		assertThat(channels).doesNotHaveDuplicates();
+		for (int i = 0; i < CUSTOMERS; i++) {
+			factory.destroyChannel(prefix + i, channels.get(i));
+		}
+		return new double[] { elapsed / 1_000_000d / CUSTOMERS, footprint / 1024d / CUSTOMERS };
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
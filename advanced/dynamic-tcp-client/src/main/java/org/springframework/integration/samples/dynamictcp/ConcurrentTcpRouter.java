@@ -0,0 +1,299 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.dynamictcp;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.dsl.context.IntegrationFlowContext;
+import org.springframework.integration.ip.tcp.TcpSendingMessageHandler;
+import org.springframework.integration.ip.tcp.connection.CachingClientConnectionFactory;
+import org.springframework.integration.ip.tcp.connection.TcpNetClientConnectionFactory;
+import org.springframework.integration.router.AbstractMessageRouter;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+
+/**
+ * A thread-safe alternative to the {@link DynamicTcpClientApplication.TcpRouter}, for
+ * many destinations routed to concurrently.
+ * <ul>
+ * <li>The destinations are keyed by {@link HostPort}; the destinations already known
+ * are routed to without any lock.</li>
+ * <li>The flow of a new destination is registered by the {@code registrationExecutor};
+ * only the messages to that destination wait for the registration. By default, at most
+ * 4 flows are registered or removed at a time, and a new destination waits for one of
+ * them to finish rather than starting another thread.</li>
+ * <li>The flow of a destination sends through a {@link CachingClientConnectionFactory},
+ * so that concurrent messages to the same destination use up to {@code poolSize}
+ * connections.</li>
+ * <li>When there are more than {@code maxDestinations}, the least recently used one is
+ * evicted (among those whose flow is registered); its flow is only removed once the
+ * messages being sent to it have been sent, and a message routed to it after its eviction
+ * goes to a newly registered flow.</li>
+ * </ul>
+ *
+ * @author Artem Bilan
+ */
+public class ConcurrentTcpRouter extends AbstractMessageRouter implements DisposableBean {
+
+	private static final int DEFAULT_REGISTRATION_CONCURRENCY = 4;
+
+	private final Map<HostPort, Destination> destinations = new ConcurrentHashMap<>();
+
+	private final AtomicLong flowSequence = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final int maxDestinations;
+
+	private final int poolSize;
+
+	private Executor registrationExecutor;
+
+	private volatile boolean destroying;
+
+	@Autowired
+	private IntegrationFlowContext flowContext;
+
+	public ConcurrentTcpRouter() {
+		this(100, 4);
+	}
+
+	/**
+	 * @param maxDestinations the maximum number of destinations with a registered flow.
+	 * @param poolSize the maximum number of connections to each destination.
+	 */
+	public ConcurrentTcpRouter(int maxDestinations, int poolSize) {
+		this.maxDestinations = maxDestinations;
+		this.poolSize = poolSize;
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("tcp-router-");
+		executor.setConcurrencyLimit(DEFAULT_REGISTRATION_CONCURRENCY);
+		this.registrationExecutor = executor;
+	}
+
+	/**
+	 * @param registrationExecutor the executor to register and remove the flows with
+	 * (default a {@link SimpleAsyncTaskExecutor} running at most 4 of them at a time).
+	 */
+	public void setRegistrationExecutor(Executor registrationExecutor) {
+		this.registrationExecutor = registrationExecutor;
+	}
+
+	@Override
+	protected Collection<MessageChannel> determineTargetChannels(Message<?> message) {
+		return Collections.singletonList(destination(HostPort.from(message)));
+	}
+
+	private Destination destination(HostPort hostPort) {
+		Destination destination = this.destinations.get(hostPort);
+		if (destination == null) {
+			Destination created = new Destination(hostPort);
+			destination = this.destinations.putIfAbsent(hostPort, created);
+			if (destination == null) {
+				this.misses.increment();
+				this.registrationExecutor.execute(() -> register(created));
+				evict();
+				return created;
+			}
+		}
+		this.hits.increment();
+		destination.lastUsed = System.nanoTime();
+		return destination;
+	}
+
+	private void register(Destination destination) {
+		try {
+			String flowId = destination.hostPort + ".flow." + this.flowSequence.incrementAndGet();
+			MessageChannel inputChannel = registerFlow(destination.hostPort, flowId);
+			destination.flowId = flowId;
+			destination.inputChannel.complete(inputChannel);
+		}
+		catch (RuntimeException e) {
+			this.destinations.remove(destination.hostPort, destination);
+			destination.inputChannel.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * Register the flow sending to a destination.
+	 * @param hostPort the destination.
+	 * @param flowId the id of the flow.
+	 * @return the input channel of the flow.
+	 */
+	protected MessageChannel registerFlow(HostPort hostPort, String flowId) {
+		TcpNetClientConnectionFactory target = new TcpNetClientConnectionFactory(hostPort.host(), hostPort.port());
+		CachingClientConnectionFactory cf = new CachingClientConnectionFactory(target, this.poolSize);
+		TcpSendingMessageHandler handler = new TcpSendingMessageHandler();
+		handler.setConnectionFactory(cf);
+		IntegrationFlow flow = f -> f.handle(handler);
+		return this.flowContext.registration(flow)
+				.addBean(cf)
+				.id(flowId)
+				.register()
+				.getInputChannel();
+	}
+
+	private void evict() {
+		while (this.destinations.size() > this.maxDestinations) {
+			Destination eldest = null;
+			for (Destination destination : this.destinations.values()) {
+				if (destination.inputChannel.isDone()
+						&& (eldest == null || destination.lastUsed - eldest.lastUsed < 0)) {
+					eldest = destination;
+				}
+			}
+			if (eldest == null) {
+				return;
+			}
+			evict(eldest);
+		}
+	}
+
+	private void evict(Destination destination) {
+		if (this.destinations.remove(destination.hostPort, destination)) {
+			this.evictions.increment();
+			destination.retire();
+		}
+	}
+
+	/**
+	 * @return the statistics of this router.
+	 */
+	public Statistics getStatistics() {
+		return new Statistics(this.destinations.size(), this.hits.sum(), this.misses.sum(), this.evictions.sum());
+	}
+
+	@Override
+	public void destroy() {
+		this.destroying = true;
+		this.destinations.values().forEach(this::evict);
+	}
+
+	/**
+	 * @param destinations the number of destinations with a registered flow.
+	 * @param hits the number of messages routed to a known destination.
+	 * @param misses the number of flows registered.
+	 * @param evictions the number of destinations evicted.
+	 */
+	public record Statistics(int destinations, long hits, long misses, long evictions) {
+	}
+
+	/**
+	 * The channel routed to for a destination, which sends to the input channel of its
+	 * flow while it is not retired.
+	 */
+	private final class Destination implements MessageChannel {
+
+		private final HostPort hostPort;
+
+		private final CompletableFuture<MessageChannel> inputChannel = new CompletableFuture<>();
+
+		private final AtomicInteger sending = new AtomicInteger();
+
+		private final AtomicBoolean removed = new AtomicBoolean();
+
+		private volatile String flowId;
+
+		private volatile boolean retired;
+
+		private volatile long lastUsed = System.nanoTime();
+
+		Destination(HostPort hostPort) {
+			this.hostPort = hostPort;
+		}
+
+		@Override
+		public boolean send(Message<?> message, long timeout) {
+			this.sending.incrementAndGet();
+			try {
+				if (!this.retired) {
+					return awaitInputChannel().send(message, timeout);
+				}
+			}
+			finally {
+				if (this.sending.decrementAndGet() == 0 && this.retired) {
+					removeFlow();
+				}
+			}
+			return destination(this.hostPort).send(message, timeout);
+		}
+
+		private MessageChannel awaitInputChannel() {
+			try {
+				return this.inputChannel.join();
+			}
+			catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				throw e;
+			}
+		}
+
+		void retire() {
+			this.retired = true;
+			if (this.sending.get() == 0) {
+				removeFlow();
+			}
+		}
+
+		private void removeFlow() {
+			if (this.removed.compareAndSet(false, true)) {
+				if (ConcurrentTcpRouter.this.destroying) {
+					doRemoveFlow();
+				}
+				else {
+					ConcurrentTcpRouter.this.registrationExecutor.execute(this::doRemoveFlow);
+				}
+			}
+		}
+
+		private void doRemoveFlow() {
+			try {
+				this.inputChannel.join();
+				ConcurrentTcpRouter.this.flowContext.remove(this.flowId);
+			}
+			catch (RuntimeException e) {
+				logger.debug(e, () -> "Failed to remove the flow of " + this.hostPort);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "Destination[" + this.hostPort + "]";
+		}
+
+	}
+
+}
@@ -22,6 +22,7 @@ import java.util.LinkedHashMap;
 import java.util.Map.Entry;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -66,8 +67,8 @@ public class DynamicTcpClientApplication {
 	}
 
 	@Bean
-	public IntegrationFlow toTcp() {
-		return f -> f.route(new TcpRouter());
+	public IntegrationFlow toTcp(@Value("${dynamic-tcp.concurrent-router:false}") boolean concurrentRouter) {
+		return f -> f.route(concurrentRouter ? new ConcurrentTcpRouter() : new TcpRouter());
 	}
 
 	// Two servers
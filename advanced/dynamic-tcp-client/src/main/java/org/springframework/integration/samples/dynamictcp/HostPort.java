@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.dynamictcp;
+
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
+/**
+ * The destination of a message, from its {@code host} and {@code port} headers; used as
+ * the key of the {@link ConcurrentTcpRouter} in place of a concatenated string.
+ *
+ * @param host the host.
+ * @param port the port.
+ *
+ * @author Artem Bilan
+ */
+public record HostPort(String host, int port) {
+
+	public HostPort {
+		Assert.notNull(host, "'host' must not be null");
+	}
+
+	/**
+	 * @param message the message.
+	 * @return the destination of the message.
+	 */
+	public static HostPort from(Message<?> message) {
+		String host = message.getHeaders().get("host", String.class);
+		Integer port = message.getHeaders().get("port", Integer.class);
+		Assert.state(host != null && port != null, "host and/or port header missing");
+		return new HostPort(host, port);
+	}
+
+	@Override
+	public String toString() {
+		return this.host + ':' + this.port;
+	}
+
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.dynamictcp;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.dsl.context.IntegrationFlowContext;
+import org.springframework.integration.dsl.context.IntegrationFlowContext.IntegrationFlowRegistration;
+import org.springframework.integration.ip.dsl.Tcp;
+import org.springframework.integration.ip.tcp.connection.TcpNetServerConnectionFactory;
+import org.springframework.integration.router.AbstractMessageRouter;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for the {@link ConcurrentTcpRouter}, and a benchmark of hundreds of destinations
+ * routed to from many threads, with that router and with the
+ * {@link DynamicTcpClientApplication.TcpRouter}.
+ * <p>The destinations of the benchmark are the same server on different loopback
+ * addresses ({@code 127.0.0.1} to {@code 127.0.0.200}), so it is skipped where these are
+ * not all routed to the loopback interface.
+ *
+ * @author Artem Bilan
+ */
+@SpringBootTest
+public class ConcurrentTcpRouterTests {
+
+	private static final Log LOGGER = LogFactory.getLog(ConcurrentTcpRouterTests.class);
+
+	private static final int THREADS = 16;
+
+	private static final int DESTINATIONS = 200;
+
+	private static final int SENDS_PER_THREAD = 1_000;
+
+	@Autowired
+	private IntegrationFlowContext flowContext;
+
+	@Test
+	public void testFlowRemovedOnlyOnceDrained() throws Exception {
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<String> flowIds = new ArrayList<>();
+		ConcurrentTcpRouter router = new ConcurrentTcpRouter(1, 1) {
+
+			@Override
+			protected MessageChannel registerFlow(HostPort hostPort, String flowId) {
+				synchronized (flowIds) {
+					flowIds.add(flowId);
+				}
+				MessageHandler handler = message -> {
+					if ("blocked".equals(message.getPayload())) {
+						sending.countDown();
+						try {
+							release.await(10, TimeUnit.SECONDS);
+						}
+						catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}
+				};
+				IntegrationFlow flow = f -> f.handle(handler);
+				return ConcurrentTcpRouterTests.this.flowContext.registration(flow)
+						.id(flowId)
+						.register()
+						.getInputChannel();
+			}
+
+		};
+		IntegrationFlowRegistration routerFlow = this.flowContext.registration(f -> f.route(router)).register();
+		MessageChannel input = routerFlow.getInputChannel();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Future<Boolean> sent = executor.submit(() -> input.send(message("blocked", "one", 1)));
+		assertThat(sending.await(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(input.send(message("foo", "two", 2))).isTrue();
+		assertThat(router.getStatistics().evictions()).isEqualTo(1);
+		assertThat(this.flowContext.getRegistrationById(flowIds.get(0))).isNotNull();
+
+		release.countDown();
+		assertThat(sent.get(10, TimeUnit.SECONDS)).isTrue();
+		awaitRemoved(flowIds.get(0));
+
+		assertThat(input.send(message("foo", "one", 1))).isTrue();
+		assertThat(router.getStatistics())
+				.isEqualTo(new ConcurrentTcpRouter.Statistics(1, 0, 3, 2));
+		awaitRemoved(flowIds.get(1));
+
+		routerFlow.destroy();
+		assertThat(this.flowContext.getRegistrationById(flowIds.get(2))).isNull();
+		executor.shutdown();
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void sendsPerSecond() throws Exception {
+		assumeTrue(loopbackAddresses(), "127.0.0.2 and above are not loopback addresses");
+		LongAdder received = new LongAdder();
+		TcpNetServerConnectionFactory server = new TcpNetServerConnectionFactory(0);
+		server.setBacklog(1000);
+		IntegrationFlowRegistration serverFlow =
+				this.flowContext.registration(IntegrationFlow.from(Tcp.inboundAdapter(server))
+								.handle((MessageHandler) message -> received.increment()))
+						.register();
+		for (int i = 0; i < 100 && !server.isListening(); i++) {
+			Thread.sleep(100);
+		}
+		assertThat(server.isListening()).isTrue();
+		for (int round = 1; round <= 3; round++) {
+			String synchronizedRate = sendsPerSecond(new DynamicTcpClientApplication.TcpRouter(), server, received);
+			ConcurrentTcpRouter cached = new ConcurrentTcpRouter(DESTINATIONS, 4);
+			String cachedRate = sendsPerSecond(cached, server, received);
+			ConcurrentTcpRouter evicting = new ConcurrentTcpRouter(DESTINATIONS / 2, 4);
+			String evictingRate = sendsPerSecond(evicting, server, received);
+			LOGGER.info(String.format("Round %d, %d destinations: synchronized router (10 cached) %s, "
+							+ "concurrent router (all cached) %s, concurrent router (%d cached) %s",
+					round, DESTINATIONS, synchronizedRate, cachedRate, DESTINATIONS / 2, evictingRate));
+			LOGGER.info("  " + cached.getStatistics() + ", " + evicting.getStatistics());
+		}
+		serverFlow.destroy();
+	}
+
+	/**
+	 * @return the sends per second and the number of failed sends.
+	 */
+	private String sendsPerSecond(AbstractMessageRouter router, TcpNetServerConnectionFactory server,
+			LongAdder received) throws Exception {
+
+		String[] hosts = new String[DESTINATIONS];
+		for (int i = 0; i < DESTINATIONS; i++) {
+			hosts[i] = "127.0.0." + (i + 1);
+		}
+		int port = server.getPort();
+		long receivedBefore = received.sum();
+		LongAdder failed = new LongAdder();
+		IntegrationFlowRegistration routerFlow = this.flowContext.registration(f -> f.route(router)).register();
+		MessageChannel input = routerFlow.getInputChannel();
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> results = new ArrayList<>();
+		long start = System.nanoTime();
+		for (int i = 0; i < THREADS; i++) {
+			results.add(executor.submit(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int j = 0; j < SENDS_PER_THREAD; j++) {
+					// 80% of the sends to 20% of the destinations
+					int destination = random.nextInt(10) < 8
+							? random.nextInt(DESTINATIONS / 5)
+							: random.nextInt(DESTINATIONS);
+					try {
+						input.send(message("foo", hosts[destination], port));
+					}
+					catch (RuntimeException e) {
+						failed.increment();
+					}
+				}
+			}));
+		}
+		for (Future<?> result : results) {
+			result.get(5, TimeUnit.MINUTES);
+		}
+		long elapsed = System.nanoTime() - start;
+		executor.shutdown();
+		long sent = THREADS * SENDS_PER_THREAD - failed.sum();
+		for (int i = 0; i < 100 && received.sum() - receivedBefore < sent; i++) {
+			Thread.sleep(100);
+		}
+		routerFlow.destroy();
+		// the TcpRouter leaves its last flows registered
+		new ArrayList<>(this.flowContext.getRegistry().keySet()).stream()
+				.filter(flowId -> flowId.startsWith("127.0.0."))
+				.forEach(this.flowContext::remove);
+		return String.format("%,.0f sends/sec (%d failed, %d received)",
+				THREADS * SENDS_PER_THREAD * 1_000_000_000d / elapsed, failed.sum(), received.sum() - receivedBefore);
+	}
+
+	private void awaitRemoved(String flowId) throws InterruptedException {
+		for (int i = 0; i < 100 && this.flowContext.getRegistrationById(flowId) != null; i++) {
+			Thread.sleep(100);
+		}
+		assertThat(this.flowContext.getRegistrationById(flowId)).isNull();
+	}
+
+	private static Message<String> message(String payload, String host, int port) {
+		return MessageBuilder.withPayload(payload)
+				.setHeader("host", host)
+				.setHeader("port", port)
+				.build();
+	}
+
+	private static boolean loopbackAddresses() {
+		try (Socket socket = new Socket()) {
+			socket.bind(new InetSocketAddress("127.0.0." + DESTINATIONS, 0));
+			return true;
+		}
+		catch (IOException e) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,436 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.cafe.amqp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.integration.amqp.support.AmqpHeaderMapper;
+import org.springframework.integration.amqp.support.DefaultAmqpHeaderMapper;
+import org.springframework.integration.amqp.support.MappingUtils;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * A replacement for an {@code int-amqp:outbound-channel-adapter} that publishes messages
+ * in batches.
+ * <p>
+ * Messages are collected until there are {@code batchSize} of them, or the oldest has
+ * waited {@code batchTimeout} milliseconds. The batch is then published back to back,
+ * each message with its own {@link CorrelationData}, whose id is never reused, and the
+ * publisher confirms are handled as they complete, so a whole batch costs about one round
+ * trip to the broker instead of one per message. The connection factory of the template
+ * must have {@code publisherConfirmType} set to {@code CORRELATED}.
+ * <p>
+ * The lock guarding the batch being collected is only held to add a message or to swap
+ * a full batch for an empty one: the batch is published by the thread that filled it (or
+ * by the scheduler, when it expires) after releasing the lock. At most
+ * {@code maxInFlightBatches} batches await their confirms at a time: the thread that
+ * filled a batch waits for one of them to complete before publishing it, while the
+ * scheduler never waits: it defers an expired batch and tries again after
+ * {@code batchTimeout} instead.
+ * Concurrent batches may reach the broker interleaved.
+ * <p>
+ * Each confirm is correlated back to the message it was published for, on the thread that
+ * completes the confirm (or times it out): messages that are
+ * nacked, not confirmed within {@code confirmTimeout}, whose routing key or AMQP message
+ * could not be computed, or that could not be published at all are sent to the
+ * {@code nackChannel}, with the reason in the {@link #NACK_REASON} header (or logged, if
+ * there is no channel).
+ * <p>
+ * The routing key is computed by a plain {@link Function} (for example
+ * {@link #headerRoutingKey(String, String)}) rather than a SpEL expression.
+ *
+ * @author Artem Bilan
+ */
+public class BatchingAmqpPublisher implements MessageHandler, DisposableBean {
+
+	/** the header with the reason a message sent to the {@code nackChannel} was not confirmed */
+	public static final String NACK_REASON = "nackReason";
+
+	private static final Log LOGGER = LogFactory.getLog(BatchingAmqpPublisher.class);
+
+	private final RabbitOperations rabbitOperations;
+
+	private final String exchange;
+
+	private final Function<Message<?>, String> routingKeyFunction;
+
+	private final AmqpHeaderMapper headerMapper = DefaultAmqpHeaderMapper.outboundMapper();
+
+	private final Lock lock = new ReentrantLock();
+
+	private final ScheduledExecutorService scheduler =
+			Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("amqp-batch-"));
+
+	private final LongAdder acked = new LongAdder();
+
+	private final LongAdder nacked = new LongAdder();
+
+	private final LongAdder batches = new LongAdder();
+
+	private final AtomicLong correlationIds = new AtomicLong();
+
+	private final Queue<List<Message<?>>> deferred = new ConcurrentLinkedQueue<>();
+
+	private List<Message<?>> batch = new ArrayList<>();
+
+	private long batchStarted;
+
+	private int batchSize = 100;
+
+	private long batchTimeout = 100;
+
+	private long confirmTimeout = 10_000;
+
+	private int maxInFlightBatches = 4;
+
+	private Semaphore inFlight = new Semaphore(this.maxInFlightBatches);
+
+	private MessageChannel nackChannel;
+
+	private MessageConverter messageConverter = new SimpleMessageConverter();
+
+	/**
+	 * Create an instance.
+	 * @param rabbitOperations the template to publish with.
+	 * @param exchange the exchange to publish to.
+	 * @param routingKeyFunction the function returning the routing key for a message.
+	 */
+	public BatchingAmqpPublisher(RabbitOperations rabbitOperations, String exchange,
+			Function<Message<?>, String> routingKeyFunction) {
+
+		this.rabbitOperations = rabbitOperations;
+		this.exchange = exchange;
+		this.routingKeyFunction = routingKeyFunction;
+	}
+
+	/**
+	 * @param batchSize the maximum number of messages in a batch (default 100).
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * @param batchTimeout the time (milliseconds) after which a partial batch is published (default 100).
+	 */
+	public void setBatchTimeout(long batchTimeout) {
+		this.batchTimeout = batchTimeout;
+	}
+
+	/**
+	 * @param confirmTimeout the time (milliseconds) to wait for the confirms of a batch (default 10000).
+	 */
+	public void setConfirmTimeout(long confirmTimeout) {
+		this.confirmTimeout = confirmTimeout;
+	}
+
+	/**
+	 * @param maxInFlightBatches the maximum number of batches awaiting their confirms at the same time (default 4).
+	 */
+	public void setMaxInFlightBatches(int maxInFlightBatches) {
+		this.maxInFlightBatches = maxInFlightBatches;
+		this.inFlight = new Semaphore(maxInFlightBatches);
+	}
+
+	/**
+	 * @param nackChannel the channel for the messages that were nacked or not confirmed in time.
+	 */
+	public void setNackChannel(MessageChannel nackChannel) {
+		this.nackChannel = nackChannel;
+	}
+
+	/**
+	 * @param messageConverter the converter for the message payloads (default {@link SimpleMessageConverter}).
+	 */
+	public void setMessageConverter(MessageConverter messageConverter) {
+		this.messageConverter = messageConverter;
+	}
+
+	/**
+	 * Create a routing key function returning the prefix followed by a header value; for
+	 * example, {@code headerRoutingKey("order.", "NUMBER")} is the equivalent of
+	 * {@code routing-key-expression="'order.'+headers.NUMBER"}, except that a message
+	 * without the header is rejected rather than routed with a {@code null} key.
+	 * @param prefix the routing key prefix.
+	 * @param headerName the header.
+	 * @return the function.
+	 */
+	public static Function<Message<?>, String> headerRoutingKey(String prefix, String headerName) {
+		return message -> {
+			Object value = message.getHeaders().get(headerName);
+			if (value == null) {
+				throw new IllegalArgumentException("No '" + headerName + "' header for the routing key");
+			}
+			return prefix + value;
+		};
+	}
+
+	public long getAcked() {
+		return this.acked.sum();
+	}
+
+	public long getNacked() {
+		return this.nacked.sum();
+	}
+
+	public long getBatches() {
+		return this.batches.sum();
+	}
+
+	@Override
+	public void handleMessage(Message<?> message) throws MessagingException {
+		List<Message<?>> full = null;
+		this.lock.lock();
+		try {
+			if (this.batch.isEmpty()) {
+				this.batchStarted = System.nanoTime();
+				if (this.batchSize > 1) {
+					this.scheduler.schedule(this::publishExpired, this.batchTimeout, TimeUnit.MILLISECONDS);
+				}
+			}
+			this.batch.add(message);
+			if (this.batch.size() >= this.batchSize) {
+				full = swap();
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+		if (full != null) {
+			publish(full);
+		}
+	}
+
+	/**
+	 * Publish the messages collected so far and wait for their confirms, and for those of
+	 * the other batches awaiting theirs.
+	 */
+	public void flush() {
+		List<Message<?>> messages;
+		this.lock.lock();
+		try {
+			messages = swap();
+		}
+		finally {
+			this.lock.unlock();
+		}
+		publish(messages);
+		List<Message<?>> deferredBatch;
+		while ((deferredBatch = this.deferred.poll()) != null) {
+			publish(deferredBatch);
+		}
+		this.inFlight.acquireUninterruptibly(this.maxInFlightBatches);
+		this.inFlight.release(this.maxInFlightBatches);
+	}
+
+	@Override
+	public void destroy() {
+		this.scheduler.shutdownNow();
+		flush();
+	}
+
+	private void publishExpired() {
+		List<Message<?>> expired = null;
+		this.lock.lock();
+		try {
+			long age = System.nanoTime() - this.batchStarted;
+			if (!this.batch.isEmpty() && age >= TimeUnit.MILLISECONDS.toNanos(this.batchTimeout)) {
+				expired = swap();
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+		if (expired != null) {
+			publishWithoutWaiting(expired);
+		}
+	}
+
+	/**
+	 * Publish a batch on the scheduler, which must not wait for the confirms of the other
+	 * batches: when {@code maxInFlightBatches} are already awaiting theirs, the batch is
+	 * deferred and tried again after {@code batchTimeout} (or published by {@link #flush()}).
+	 */
+	private void publishWithoutWaiting(List<Message<?>> messages) {
+		if (this.inFlight.tryAcquire()) {
+			try {
+				publishAndConfirm(messages);
+			}
+			catch (RuntimeException e) {
+				LOGGER.error("Failed to publish a batch", e);
+			}
+		}
+		else {
+			this.deferred.add(messages);
+			try {
+				this.scheduler.schedule(this::publishDeferred, this.batchTimeout, TimeUnit.MILLISECONDS);
+			}
+			catch (RejectedExecutionException e) {
+				// destroyed: flush() publishes the deferred batches
+			}
+		}
+	}
+
+	private void publishDeferred() {
+		List<Message<?>> messages = this.deferred.poll();
+		if (messages != null) {
+			publishWithoutWaiting(messages);
+		}
+	}
+
+	/**
+	 * Replace the batch being collected with an empty one; must be called with the lock held.
+	 * @return the batch collected so far.
+	 */
+	private List<Message<?>> swap() {
+		List<Message<?>> messages = this.batch;
+		this.batch = new ArrayList<>(this.batchSize);
+		return messages;
+	}
+
+	/**
+	 * Publish a batch, once fewer than {@code maxInFlightBatches} other batches are
+	 * awaiting their confirms.
+	 */
+	private void publish(List<Message<?>> messages) {
+		if (messages.isEmpty()) {
+			return;
+		}
+		try {
+			this.inFlight.acquire();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			messages.forEach(message -> nack(message, "interrupted"));
+			return;
+		}
+		publishAndConfirm(messages);
+	}
+
+	/**
+	 * Publish a batch, with an in-flight permit acquired; the permit is released once all
+	 * its confirms have been handled.
+	 */
+	private void publishAndConfirm(List<Message<?>> messages) {
+		List<CompletableFuture<Void>> confirms = new ArrayList<>(messages.size());
+		try {
+			publish(messages, confirms);
+		}
+		finally {
+			CompletableFuture.allOf(confirms.toArray(new CompletableFuture<?>[0]))
+					.whenComplete((result, ex) -> this.inFlight.release());
+		}
+	}
+
+	private void publish(List<Message<?>> messages, List<CompletableFuture<Void>> confirms) {
+		String sendFailure = null;
+		int next = 0;
+		for (; next < messages.size(); next++) {
+			Message<?> message = messages.get(next);
+			String routingKey;
+			org.springframework.amqp.core.Message amqpMessage;
+			try {
+				routingKey = this.routingKeyFunction.apply(message);
+				amqpMessage = MappingUtils.mapMessage(message, this.messageConverter, this.headerMapper,
+						MessageDeliveryMode.PERSISTENT, false);
+			}
+			catch (RuntimeException e) {
+				nack(message, e.toString());
+				continue;
+			}
+			CorrelationData correlation = new CorrelationData(Long.toString(this.correlationIds.incrementAndGet()));
+			try {
+				this.rabbitOperations.send(this.exchange, routingKey, amqpMessage, correlation);
+			}
+			catch (RuntimeException e) {
+				sendFailure = e.toString();
+				break;
+			}
+			confirms.add(confirmed(message, correlation));
+		}
+		this.batches.increment();
+		for (int i = next; i < messages.size(); i++) {
+			nack(messages.get(i), sendFailure);
+		}
+	}
+
+	/**
+	 * @return a future completed once the confirm of the message has been counted, and the
+	 * message sent to the {@code nackChannel} if it was not acked within {@code confirmTimeout}.
+	 */
+	private CompletableFuture<Void> confirmed(Message<?> message, CorrelationData correlation) {
+		return correlation.getFuture()
+				.orTimeout(this.confirmTimeout, TimeUnit.MILLISECONDS)
+				.handle((confirm, ex) -> {
+					if (ex == null && confirm.ack()) {
+						this.acked.increment();
+					}
+					else {
+						nack(message, ex == null ? confirm.reason() : reason(ex));
+					}
+					return null;
+				});
+	}
+
+	private String reason(Throwable ex) {
+		Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+		return cause instanceof TimeoutException
+				? "no confirm within " + this.confirmTimeout + "ms"
+				: cause.toString();
+	}
+
+	private void nack(Message<?> message, String reason) {
+		this.nacked.increment();
+		if (this.nackChannel != null) {
+			this.nackChannel.send(MessageBuilder.fromMessage(message).setHeader(NACK_REASON, reason).build());
+		}
+		else {
+			LOGGER.warn("Not confirmed (" + reason + "): " + message);
+		}
+	}
+
+}
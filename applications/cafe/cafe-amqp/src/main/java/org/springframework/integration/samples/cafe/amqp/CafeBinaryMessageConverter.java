@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.cafe.amqp;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.integration.samples.cafe.CafeBinaryCodec;
+
+/**
+ * A {@link org.springframework.amqp.support.converter.MessageConverter} writing the cafe
+ * domain types in the compact binary encoding of the {@link CafeBinaryCodec}, with the
+ * {@value #CONTENT_TYPE} content type, and reading them back.
+ * <p>
+ * With the {@code binary} profile, it is the converter of the {@code amqpTemplate} and of
+ * the inbound adapters and gateways, so the channels on either side of the broker carry
+ * the {@code Order}, {@code OrderItem}, {@code Drink} and {@code Delivery} objects
+ * themselves.
+ *
+ * @author Artem Bilan
+ */
+public class CafeBinaryMessageConverter extends AbstractMessageConverter {
+
+	/** the content type of the messages written by this converter */
+	public static final String CONTENT_TYPE = "application/x-cafe-binary";
+
+	private final CafeBinaryCodec codec;
+
+	public CafeBinaryMessageConverter() {
+		this(new CafeBinaryCodec());
+	}
+
+	public CafeBinaryMessageConverter(CafeBinaryCodec codec) {
+		this.codec = codec;
+	}
+
+	@Override
+	protected Message createMessage(Object object, MessageProperties messageProperties) {
+		if (!this.codec.canEncode(object)) {
+			throw new MessageConversionException("Cannot convert " + (object == null ? null : object.getClass())
+					+ " to a " + CONTENT_TYPE + " message");
+		}
+		byte[] bytes = this.codec.encode(object);
+		messageProperties.setContentType(CONTENT_TYPE);
+		messageProperties.setContentLength(bytes.length);
+		return new Message(bytes, messageProperties);
+	}
+
+	@Override
+	public Object fromMessage(Message message) {
+		String contentType = message.getMessageProperties().getContentType();
+		if (contentType != null && !contentType.startsWith(CONTENT_TYPE)) {
+			throw new MessageConversionException("Cannot convert a " + contentType + " message");
+		}
+		try {
+			return this.codec.decode(message.getBody());
+		}
+		catch (IllegalArgumentException e) {
+			throw new MessageConversionException("Failed to decode a " + CONTENT_TYPE + " message", e);
+		}
+	}
+
+}
@@ -16,6 +16,10 @@
 
 package org.springframework.integration.samples.cafe.xml;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.integration.samples.cafe.Cafe;
 import org.springframework.integration.samples.cafe.DrinkType;
@@ -27,7 +31,8 @@ import org.springframework.integration.samples.cafe.Order;
  * RabbitMQ broker started on localhost:5672 configured with the default
  * guest | guest client credentials on the / vHost. When an order is
  * placed, the Cafe store front will publish that order on the cafe-orders
- * exchange to be processed.
+ * exchange to be processed. Run with {@code --batching} to publish the orders
+ * in batches, awaiting the publisher confirms of each batch together.
  * <p/>
  * The relevant components are defined within the configuration files:
  * ("cafeDemo-amqp-xml.xml", "cafeDemo-amqp-config-xml.xml").
@@ -39,6 +44,9 @@ import org.springframework.integration.samples.cafe.Order;
  */
 public class CafeDemoAppAmqp {
 
+	/** spring profile for publishing the orders in batches, with publisher confirms */
+	public static final String BATCHING = "batching";
+
 	/**
 	 * place some orders
 	 * @param context spring context
@@ -55,10 +63,14 @@ public class CafeDemoAppAmqp {
 	}
 
 	public static void main(String[] args) {
+		List<String> profiles = new ArrayList<>(List.of(CafeDemoAppUtilities.DEV, CafeDemoAppUtilities.wireFormat(args)));
+		if (Arrays.asList(args).contains("--batching")) {
+			profiles.add(BATCHING);
+		}
 		AbstractApplicationContext context =
 			CafeDemoAppUtilities.loadProfileContext(
 					"/META-INF/spring/integration/amqp/cafeDemo-amqp-xml.xml",
-					CafeDemoAppAmqp.class,CafeDemoAppUtilities.DEV);
+					CafeDemoAppAmqp.class, profiles.toArray(new String[0]));
 		order(context, 100);
 		context.close();
 	}
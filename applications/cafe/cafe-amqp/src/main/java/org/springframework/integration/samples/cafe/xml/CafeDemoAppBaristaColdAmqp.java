@@ -42,7 +42,8 @@ public class CafeDemoAppBaristaColdAmqp {
 		AbstractApplicationContext context =
 			CafeDemoAppUtilities.loadProfileContext(
 				"/META-INF/spring/integration/amqp/cafeDemo-amqp-baristaCold-xml.xml",
-				CafeDemoAppBaristaColdAmqp.class,CafeDemoAppUtilities.DEV);
+				CafeDemoAppBaristaColdAmqp.class,CafeDemoAppUtilities.DEV,
+				CafeDemoAppUtilities.wireFormat(args));
 
 		System.out.println("Press Enter/Return in the console to exit the Barista Cold App");
 
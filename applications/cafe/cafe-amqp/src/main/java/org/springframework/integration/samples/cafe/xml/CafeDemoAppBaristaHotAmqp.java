@@ -42,7 +42,8 @@ public class CafeDemoAppBaristaHotAmqp {
 		AbstractApplicationContext context =
 				CafeDemoAppUtilities.loadProfileContext(
 					"/META-INF/spring/integration/amqp/cafeDemo-amqp-baristaHot-xml.xml",
-					CafeDemoAppBaristaHotAmqp.class,CafeDemoAppUtilities.DEV);
+					CafeDemoAppBaristaHotAmqp.class,CafeDemoAppUtilities.DEV,
+					CafeDemoAppUtilities.wireFormat(args));
 
 		System.out.println("Press Enter/Return in the console to exit the Barista Hot App");
 
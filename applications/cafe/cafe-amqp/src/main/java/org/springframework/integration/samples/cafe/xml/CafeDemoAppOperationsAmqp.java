@@ -48,7 +48,8 @@ public class CafeDemoAppOperationsAmqp {
 		AbstractApplicationContext context =
 				CafeDemoAppUtilities.loadProfileContext(
 					"/META-INF/spring/integration/amqp/cafeDemo-amqp-operations-xml.xml",
-					CafeDemoAppOperationsAmqp.class,CafeDemoAppUtilities.DEV);
+					CafeDemoAppOperationsAmqp.class,CafeDemoAppUtilities.DEV,
+					CafeDemoAppUtilities.wireFormat(args));
 		System.out.println("Press Enter/Return in the console to exit the Cafe Operations App");
 
 		try {
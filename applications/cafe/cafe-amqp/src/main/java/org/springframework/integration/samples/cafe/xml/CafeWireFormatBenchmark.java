@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.cafe.xml;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.integration.samples.cafe.CafeBinaryCodec;
+import org.springframework.integration.samples.cafe.Delivery;
+import org.springframework.integration.samples.cafe.Drink;
+import org.springframework.integration.samples.cafe.DrinkType;
+import org.springframework.integration.samples.cafe.Order;
+import org.springframework.integration.support.json.JsonObjectMapper;
+import org.springframework.integration.support.json.JsonObjectMapperProvider;
+
+/**
+ * Compares the {@link CafeBinaryCodec} with the JSON mapper used by the
+ * {@code object-to-json-transformer} and {@code json-to-object-transformer}: the bytes
+ * sent to the broker for each cafe type, and the nanoseconds it takes to encode and to
+ * decode one. Each measurement is repeated a few times so the later rounds show the
+ * warmed up figures.
+ *
+ * @author Artem Bilan
+ */
+public class CafeWireFormatBenchmark {
+
+	private static final int ITERATIONS = 200_000;
+
+	private static final int ROUNDS = 5;
+
+	private static final CafeBinaryCodec CODEC = new CafeBinaryCodec();
+
+	private static final JsonObjectMapper<?, ?> JSON = JsonObjectMapperProvider.newInstance();
+
+	private static long blackhole;
+
+	public static void main(String[] args) throws Exception {
+		Order order = new Order(1234);
+		order.addItem(DrinkType.LATTE, 2, false);
+		order.addItem(DrinkType.MOCHA, 3, true);
+		Drink latte = new Drink(1234, DrinkType.LATTE, false, 2);
+		Drink mocha = new Drink(1234, DrinkType.MOCHA, true, 3);
+
+		compare(order);
+		compare(order.getItems().get(0));
+		compare(latte);
+		compare(new Delivery(List.of(latte, mocha)));
+		System.out.println("(" + blackhole + ")");
+	}
+
+	private static void compare(Object payload) throws Exception {
+		Class<?> type = payload.getClass();
+		String json = JSON.toJson(payload);
+		byte[] binary = CODEC.encode(payload);
+		System.out.printf("%s: JSON %d bytes, binary %d bytes%n", type.getSimpleName(),
+				json.getBytes(StandardCharsets.UTF_8).length, binary.length);
+
+		for (int round = 1; round <= ROUNDS; round++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				blackhole += JSON.toJson(payload).length();
+			}
+			long jsonEncode = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				blackhole += JSON.fromJson(json, type).hashCode();
+			}
+			long jsonDecode = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				blackhole += CODEC.encode(payload).length;
+			}
+			long binaryEncode = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				blackhole += CODEC.decode(binary).hashCode();
+			}
+			long binaryDecode = System.nanoTime() - start;
+
+			System.out.printf("  round %d: JSON encode %,.0f ns/op, decode %,.0f ns/op; "
+							+ "binary encode %,.0f ns/op, decode %,.0f ns/op%n", round,
+					(double) jsonEncode / ITERATIONS, (double) jsonDecode / ITERATIONS,
+					(double) binaryEncode / ITERATIONS, (double) binaryDecode / ITERATIONS);
+		}
+	}
+
+}
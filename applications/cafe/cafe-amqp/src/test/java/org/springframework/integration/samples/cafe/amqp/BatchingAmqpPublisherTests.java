@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.cafe.amqp;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.support.MessageBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the {@link BatchingAmqpPublisher} against a stand-in broker, which confirms
+ * each message a fixed round trip time after it was published, and reports the orders
+ * published per second one at a time and in batches.
+ *
+ * @author Artem Bilan
+ */
+public class BatchingAmqpPublisherTests {
+
+	private static final Log LOGGER = LogFactory.getLog(BatchingAmqpPublisherTests.class);
+
+	private static final long ROUND_TRIP_MILLIS = 2;
+
+	private final ScheduledExecutorService broker = Executors.newSingleThreadScheduledExecutor();
+
+	private final List<String> routingKeys = new CopyOnWriteArrayList<>();
+
+	private final List<String> correlationIds = new CopyOnWriteArrayList<>();
+
+	private final Set<String> nackedRoutingKeys = ConcurrentHashMap.newKeySet();
+
+	private final Set<String> silentRoutingKeys = ConcurrentHashMap.newKeySet();
+
+	private volatile long roundTripMillis = ROUND_TRIP_MILLIS;
+
+	@AfterEach
+	public void tearDown() {
+		this.broker.shutdownNow();
+	}
+
+	@Test
+	public void testBatchesAndConfirms() {
+		BatchingAmqpPublisher publisher = publisher(10);
+		publisher.setBatchTimeout(10_000);
+		this.nackedRoutingKeys.add("order.7");
+		QueueChannel nacks = new QueueChannel();
+		publisher.setNackChannel(nacks);
+
+		for (int i = 1; i <= 25; i++) {
+			publisher.handleMessage(order(i));
+		}
+		assertThat(publisher.getBatches()).isEqualTo(2);
+		publisher.flush();
+
+		assertThat(publisher.getBatches()).isEqualTo(3);
+		assertThat(publisher.getAcked()).isEqualTo(24);
+		assertThat(publisher.getNacked()).isEqualTo(1);
+		assertThat(this.routingKeys).hasSize(25).startsWith("order.1", "order.2").endsWith("order.25");
+		assertThat(this.correlationIds).doesNotHaveDuplicates();
+		org.springframework.messaging.Message<?> nacked = nacks.receive(0);
+		assertThat(nacked).isNotNull();
+		assertThat(nacked.getHeaders().get("NUMBER")).isEqualTo(7);
+		assertThat(nacked.getHeaders().get(BatchingAmqpPublisher.NACK_REASON)).isEqualTo("rejected");
+		publisher.destroy();
+	}
+
+	@Test
+	public void testRoutingKeyFailureIsNacked() {
+		BatchingAmqpPublisher publisher = publisher(3);
+		QueueChannel nacks = new QueueChannel();
+		publisher.setNackChannel(nacks);
+
+		publisher.handleMessage(order(1));
+		publisher.handleMessage(MessageBuilder.withPayload("{}").build());
+		publisher.handleMessage(order(3));
+		publisher.flush();
+
+		assertThat(publisher.getAcked()).isEqualTo(2);
+		assertThat(publisher.getNacked()).isEqualTo(1);
+		assertThat(this.routingKeys).containsExactly("order.1", "order.3");
+		org.springframework.messaging.Message<?> nacked = nacks.receive(0);
+		assertThat(nacked).isNotNull();
+		assertThat(nacked.getPayload()).isEqualTo("{}");
+		assertThat((String) nacked.getHeaders().get(BatchingAmqpPublisher.NACK_REASON))
+				.contains("NUMBER");
+		publisher.destroy();
+	}
+
+	@Test
+	public void testCollectsWhileConfirmsAwaited() {
+		this.roundTripMillis = 1000;
+		BatchingAmqpPublisher publisher = publisher(2);
+		publisher.setBatchTimeout(10_000);
+
+		// the first batch is published without waiting for its confirms
+		publisher.handleMessage(order(1));
+		publisher.handleMessage(order(2));
+		assertThat(this.routingKeys).hasSize(2);
+		publisher.handleMessage(order(3));
+		assertThat(publisher.getAcked()).isZero();
+
+		publisher.flush();
+		assertThat(publisher.getAcked()).isEqualTo(3);
+		publisher.destroy();
+	}
+
+	@Test
+	public void testUnconfirmedBatchDoesNotStallExpiredBatches() throws InterruptedException {
+		this.silentRoutingKeys.add("order.1");
+		BatchingAmqpPublisher publisher = publisher(100);
+		publisher.setBatchTimeout(20);
+		publisher.setConfirmTimeout(500);
+		QueueChannel nacks = new QueueChannel();
+		publisher.setNackChannel(nacks);
+
+		publisher.handleMessage(order(1));
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (this.routingKeys.isEmpty() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(1);
+		}
+		long firstPublished = System.currentTimeMillis();
+		publisher.handleMessage(order(2));
+		while (publisher.getAcked() < 1 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(1);
+		}
+
+		// the second batch expired and was confirmed while the first still awaits its confirm
+		assertThat(publisher.getAcked()).isEqualTo(1);
+		assertThat(System.currentTimeMillis() - firstPublished).isLessThan(500);
+		assertThat(publisher.getNacked()).isZero();
+
+		org.springframework.messaging.Message<?> nacked = nacks.receive(10_000);
+		assertThat(nacked).isNotNull();
+		assertThat(nacked.getHeaders().get("NUMBER")).isEqualTo(1);
+		assertThat(nacked.getHeaders().get(BatchingAmqpPublisher.NACK_REASON))
+				.isEqualTo("no confirm within 500ms");
+		assertThat(publisher.getBatches()).isEqualTo(2);
+		publisher.destroy();
+	}
+
+	@Test
+	public void testPartialBatchPublishedAfterTimeout() throws InterruptedException {
+		BatchingAmqpPublisher publisher = publisher(100);
+		publisher.setBatchTimeout(50);
+
+		publisher.handleMessage(order(1));
+		publisher.handleMessage(order(2));
+		assertThat(this.routingKeys).isEmpty();
+
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (publisher.getAcked() < 2 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(publisher.getAcked()).isEqualTo(2);
+		assertThat(publisher.getBatches()).isEqualTo(1);
+		publisher.destroy();
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void ordersPerSecond() {
+		int orders = 2000;
+		for (int batchSize : new int[] { 1, 10, 100 }) {
+			BatchingAmqpPublisher publisher = publisher(batchSize);
+			long start = System.nanoTime();
+			for (int i = 1; i <= orders; i++) {
+				publisher.handleMessage(order(i));
+			}
+			publisher.flush();
+			long elapsed = System.nanoTime() - start;
+			publisher.destroy();
+
+			assertThat(publisher.getAcked()).isEqualTo(orders);
+			LOGGER.info(String.format("Batch size %3d: %,.0f orders/sec", batchSize, orders * 1_000_000_000d / elapsed));
+		}
+	}
+
+	private BatchingAmqpPublisher publisher(int batchSize) {
+		RabbitOperations rabbitOperations = mock(RabbitOperations.class);
+		willAnswer(invocation -> {
+			String routingKey = invocation.getArgument(1);
+			CorrelationData correlationData = invocation.getArgument(3);
+			this.routingKeys.add(routingKey);
+			this.correlationIds.add(correlationData.getId());
+			if (this.silentRoutingKeys.contains(routingKey)) {
+				return null;
+			}
+			boolean ack = !this.nackedRoutingKeys.contains(routingKey);
+			this.broker.schedule(() -> correlationData.getFuture()
+							.complete(new CorrelationData.Confirm(ack, ack ? null : "rejected")),
+					this.roundTripMillis, TimeUnit.MILLISECONDS);
+			return null;
+		}).given(rabbitOperations).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+		BatchingAmqpPublisher publisher = new BatchingAmqpPublisher(rabbitOperations, "cafe-orders",
+				BatchingAmqpPublisher.headerRoutingKey("order.", "NUMBER"));
+		publisher.setBatchSize(batchSize);
+		return publisher;
+	}
+
+	private static org.springframework.messaging.Message<String> order(int number) {
+		return MessageBuilder.withPayload("{\"number\":" + number + "}")
+				.setHeader("NUMBER", number)
+				.build();
+	}
+
+}
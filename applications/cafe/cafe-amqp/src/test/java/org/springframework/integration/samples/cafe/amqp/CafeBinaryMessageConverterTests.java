@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.cafe.amqp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.integration.samples.cafe.Delivery;
+import org.springframework.integration.samples.cafe.Drink;
+import org.springframework.integration.samples.cafe.DrinkType;
+import org.springframework.integration.samples.cafe.Order;
+import org.springframework.integration.samples.cafe.OrderItem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Round trips of the cafe types through the {@link CafeBinaryMessageConverter}.
+ *
+ * @author Artem Bilan
+ */
+public class CafeBinaryMessageConverterTests {
+
+	private final CafeBinaryMessageConverter converter = new CafeBinaryMessageConverter();
+
+	@Test
+	public void testOrderRoundTrip() {
+		Order order = new Order(1234);
+		order.addItem(DrinkType.LATTE, 2, false);
+		order.addItem(DrinkType.MOCHA, 3, true);
+
+		Message message = this.converter.toMessage(order, new MessageProperties());
+		assertThat(message.getMessageProperties().getContentType())
+				.isEqualTo(CafeBinaryMessageConverter.CONTENT_TYPE);
+		assertThat(message.getMessageProperties().getContentLength()).isEqualTo(message.getBody().length);
+
+		Order decoded = (Order) this.converter.fromMessage(message);
+		assertThat(decoded.getNumber()).isEqualTo(1234);
+		assertThat(decoded.getItems()).hasSize(2);
+		for (int i = 0; i < 2; i++) {
+			OrderItem expected = order.getItems().get(i);
+			OrderItem actual = decoded.getItems().get(i);
+			assertThat(actual.getOrderNumber()).isEqualTo(expected.getOrderNumber());
+			assertThat(actual.getDrinkType()).isEqualTo(expected.getDrinkType());
+			assertThat(actual.getShots()).isEqualTo(expected.getShots());
+			assertThat(actual.isIced()).isEqualTo(expected.isIced());
+		}
+	}
+
+	@Test
+	public void testDrinkAndDeliveryRoundTrip() {
+		Drink latte = new Drink(7, DrinkType.LATTE, false, 2);
+		Drink mocha = new Drink(8, DrinkType.MOCHA, true, 3);
+
+		Drink drink = (Drink) this.converter.fromMessage(this.converter.toMessage(mocha, new MessageProperties()));
+		assertThat(drink.getOrderNumber()).isEqualTo(8);
+		assertThat(drink.getDrinkType()).isEqualTo(DrinkType.MOCHA);
+		assertThat(drink.isIced()).isTrue();
+		assertThat(drink.getShots()).isEqualTo(3);
+
+		Delivery delivery = new Delivery(List.of(latte, mocha));
+		Delivery decoded = (Delivery) this.converter.fromMessage(
+				this.converter.toMessage(delivery, new MessageProperties()));
+		assertThat(decoded.getOrderNumber()).isEqualTo(delivery.getOrderNumber());
+		assertThat(decoded.getDeliveredDrinks()).extracting(Drink::getOrderNumber).containsExactly(7, 8);
+		assertThat(decoded.getDeliveredDrinks()).extracting(Drink::getDrinkType)
+				.containsExactly(DrinkType.LATTE, DrinkType.MOCHA);
+	}
+
+	@Test
+	public void testRejectsOtherPayloadsAndContentTypes() {
+		assertThatExceptionOfType(MessageConversionException.class)
+				.isThrownBy(() -> this.converter.toMessage("not a cafe type", new MessageProperties()));
+
+		MessageProperties properties = new MessageProperties();
+		properties.setContentType("text/x-json");
+		Message json = new Message("{\"number\":1}".getBytes(StandardCharsets.UTF_8), properties);
+		assertThatExceptionOfType(MessageConversionException.class)
+				.isThrownBy(() -> this.converter.fromMessage(json));
+
+		properties = new MessageProperties();
+		properties.setContentType(CafeBinaryMessageConverter.CONTENT_TYPE);
+		Message truncated = new Message(new byte[] { 1 }, properties);
+		assertThatExceptionOfType(MessageConversionException.class)
+				.isThrownBy(() -> this.converter.fromMessage(truncated));
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.cafe.jms;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import jakarta.jms.BytesMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+
+import org.springframework.integration.jms.DefaultJmsHeaderMapper;
+import org.springframework.integration.jms.JmsHeaderMapper;
+import org.springframework.integration.samples.cafe.CafeBinaryCodec;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.jms.support.converter.SimpleMessageConverter;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link MessageConverter} for JMS-backed channels that carry the cafe types.
+ * <p/>
+ * A JMS-backed channel sends the whole Spring Integration {@link Message}, which the
+ * default converter puts into an {@code ObjectMessage} with Java serialization. This
+ * converter sends a message with an {@code Order}, {@code OrderItem}, {@code Drink} or
+ * {@code Delivery} payload as a {@link BytesMessage} with the {@link CafeBinaryCodec}
+ * encoding of the payload instead. The headers are mapped to and from JMS properties by
+ * a {@link DefaultJmsHeaderMapper}; the {@code UUID} values (such as the correlation id
+ * set by the splitter) are sent as strings and restored on the way back. The JMS-defined
+ * {@code JMSX} properties are not copied back into the headers, and the
+ * {@code replyChannel} and {@code errorChannel} headers are dropped, as they are by Java
+ * serialization.
+ * <p/>
+ * Any other message, including one with a cafe payload and a header that is neither a JMS
+ * property type nor a {@code UUID}, is passed to a {@link SimpleMessageConverter}, so
+ * no header is lost.
+ *
+ * @author Artem Bilan
+ */
+public class CafeJmsMessageConverter implements MessageConverter {
+
+	/** the JMS type of the messages with an encoded cafe payload */
+	public static final String CAFE_TYPE = "cafe";
+
+	/** the JMS property with the comma-delimited names of the headers sent as strings that are {@code UUID}s */
+	public static final String UUID_HEADERS = "cafe_uuidHeaders";
+
+	private static final Set<Class<?>> JMS_PROPERTY_TYPES = Set.of(String.class, Boolean.class, Byte.class,
+			Short.class, Integer.class, Long.class, Float.class, Double.class);
+
+	private final CafeBinaryCodec codec = new CafeBinaryCodec();
+
+	private final JmsHeaderMapper headerMapper = new DefaultJmsHeaderMapper();
+
+	private final MessageConverter delegate = new SimpleMessageConverter();
+
+	@Override
+	public jakarta.jms.Message toMessage(Object object, Session session)
+			throws JMSException, MessageConversionException {
+
+		if (object instanceof Message<?> message && this.codec.canEncode(message.getPayload())) {
+			Map<String, Object> headers = new HashMap<>();
+			StringBuilder uuidHeaders = new StringBuilder();
+			for (Map.Entry<String, Object> header : message.getHeaders().entrySet()) {
+				String name = header.getKey();
+				Object value = header.getValue();
+				if (MessageHeaders.ID.equals(name) || MessageHeaders.TIMESTAMP.equals(name)
+						|| MessageHeaders.REPLY_CHANNEL.equals(name) || MessageHeaders.ERROR_CHANNEL.equals(name)) {
+					continue;
+				}
+				if (value instanceof UUID) {
+					value = value.toString();
+					uuidHeaders.append(uuidHeaders.isEmpty() ? "" : ",").append(name);
+				}
+				else if (!JMS_PROPERTY_TYPES.contains(value.getClass()) && !name.startsWith("jms_")) {
+					return this.delegate.toMessage(object, session);
+				}
+				headers.put(name, value);
+			}
+			BytesMessage bytesMessage = session.createBytesMessage();
+			this.headerMapper.fromHeaders(new MessageHeaders(headers), bytesMessage);
+			if (!uuidHeaders.isEmpty()) {
+				bytesMessage.setStringProperty(UUID_HEADERS, uuidHeaders.toString());
+			}
+			bytesMessage.setJMSType(CAFE_TYPE);
+			bytesMessage.writeBytes(this.codec.encode(message.getPayload()));
+			return bytesMessage;
+		}
+		return this.delegate.toMessage(object, session);
+	}
+
+	@Override
+	public Object fromMessage(jakarta.jms.Message message) throws JMSException, MessageConversionException {
+		if (message instanceof BytesMessage bytesMessage && CAFE_TYPE.equals(message.getJMSType())) {
+			byte[] bytes = new byte[(int) bytesMessage.getBodyLength()];
+			bytesMessage.readBytes(bytes);
+			Map<String, Object> headers = this.headerMapper.toHeaders(message);
+			headers.keySet().removeIf(name -> name.startsWith("JMSX"));
+			Object uuidHeaders = headers.remove(UUID_HEADERS);
+			if (uuidHeaders != null) {
+				for (String name : StringUtils.commaDelimitedListToStringArray((String) uuidHeaders)) {
+					headers.computeIfPresent(name, (key, value) -> UUID.fromString((String) value));
+				}
+			}
+			return MessageBuilder.withPayload(this.codec.decode(bytes))
+					.copyHeaders(headers)
+					.build();
+		}
+		return this.delegate.fromMessage(message);
+	}
+
+}
@@ -16,12 +16,13 @@
 package org.springframework.integration.samples.cafe.xml;
 
 import org.springframework.context.support.AbstractApplicationContext;
-import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.context.support.GenericXmlApplicationContext;
 import org.springframework.integration.samples.cafe.Cafe;
 import org.springframework.integration.samples.cafe.DrinkType;
 import org.springframework.integration.samples.cafe.Order;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Main class for running the Cafe sample with JMS-backed (ActiveMQ) channels. Once the application
@@ -29,11 +30,35 @@ import java.io.IOException;
  * benefits of this solution, try halting/exiting the program in the middle of running it, comment out the
  * call to place new orders (the order() function call) and watch that the processing still continues
  * where it left off when you halted it. This is because the messages are persisted in the ActiveMQ queues.
+ * <p/>
+ * Run with {@code --message-driven} to use the {@link #MESSAGE_DRIVEN} profile, in which the baristas
+ * are message-driven consumers of the drinks queues, instead of polling them.
  *
  * @author Christian Posta
+ * @author Artem Bilan
  */
 public class CafeDemoActiveMQBackedChannels {
 
+	/** spring profile for message-driven, prefetching drinks channels with the compact cafe message converter */
+	public static final String MESSAGE_DRIVEN = "message-driven";
+
+	/**
+	 * Create the context with the JMS-backed channels and the embedded broker.
+	 *
+	 * @param messageDriven whether to activate the {@link #MESSAGE_DRIVEN} profile
+	 * @return the spring context
+	 */
+	public static AbstractApplicationContext createContext(boolean messageDriven) {
+		GenericXmlApplicationContext context = new GenericXmlApplicationContext();
+		if (messageDriven) {
+			context.getEnvironment().setActiveProfiles(MESSAGE_DRIVEN);
+		}
+		context.load("/META-INF/spring/integration/activemq/cafeDemo-amq-config.xml",
+				"/META-INF/spring/integration/activemq/cafeDemo-amq-jms-backed.xml");
+		context.refresh();
+		return context;
+	}
+
 	/**
 	 * Place some orders.
 	 *
@@ -51,9 +76,7 @@ public class CafeDemoActiveMQBackedChannels {
 	}
 
 	public static void main(String[] args) throws InterruptedException, IOException {
-		AbstractApplicationContext context = new ClassPathXmlApplicationContext(
-				"/META-INF/spring/integration/activemq/cafeDemo-amq-config.xml",
-				"/META-INF/spring/integration/activemq/cafeDemo-amq-jms-backed.xml");
+		AbstractApplicationContext context = createContext(Arrays.asList(args).contains("--message-driven"));
 
 		// comment this out to run the sample without placing any new orders on the queue
 		order(context, 25);
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.cafe.xml;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.integration.channel.AbstractMessageChannel;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+/**
+ * Places a number of orders (500 by default; pass the number as the first argument) on
+ * the JMS-backed channels of {@link CafeDemoActiveMQBackedChannels}, with the embedded
+ * broker, and reports the drinks prepared per second. By default, the baristas poll the
+ * drinks queues; pass {@code --message-driven} to measure the message-driven
+ * configuration instead.
+ * <p/>
+ * The baristas take no time to prepare a drink, so the figures are those of the
+ * channels, unless the delays are set (in milliseconds) with the
+ * {@code cafe.barista.hotDrinkDelay} and {@code cafe.barista.coldDrinkDelay} system
+ * properties. Each order has two drinks; the messages left in the (persistent) queues
+ * by an earlier run are counted too.
+ *
+ * @author Artem Bilan
+ */
+public class CafeJmsThroughputHarness {
+
+	public static void main(String[] args) throws InterruptedException {
+		int orders = args.length > 0 && !args[0].startsWith("--") ? Integer.parseInt(args[0]) : 500;
+		boolean messageDriven = Arrays.asList(args).contains("--message-driven");
+
+		AbstractApplicationContext context = CafeDemoActiveMQBackedChannels.createContext(messageDriven);
+		Barista barista = context.getBean("barista", Barista.class);
+		barista.setHotDrinkDelay(Long.getLong("cafe.barista.hotDrinkDelay", 0));
+		barista.setColdDrinkDelay(Long.getLong("cafe.barista.coldDrinkDelay", 0));
+
+		int drinks = orders * 2;
+		CountDownLatch prepared = new CountDownLatch(drinks);
+		context.getBean("preparedDrinks", AbstractMessageChannel.class).addInterceptor(new ChannelInterceptor() {
+
+			@Override
+			public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+				prepared.countDown();
+			}
+
+		});
+
+		long start = System.nanoTime();
+		CafeDemoActiveMQBackedChannels.order(context, orders);
+		boolean completed = prepared.await(10, TimeUnit.MINUTES);
+		long elapsed = System.nanoTime() - start;
+		long count = drinks - prepared.getCount();
+		context.close();
+
+		System.out.printf("%s: %d of %d drinks prepared in %d ms, %.1f drinks/sec%s%n",
+				messageDriven ? "Message-driven channels" : "Polled channels", count, drinks,
+				TimeUnit.NANOSECONDS.toMillis(elapsed), count * 1_000_000_000d / elapsed,
+				completed ? "" : " (timed out)");
+	}
+
+}
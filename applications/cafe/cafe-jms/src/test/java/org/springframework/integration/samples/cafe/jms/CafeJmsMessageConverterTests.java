@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.cafe.jms;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.jms.BytesMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.ObjectMessage;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.samples.cafe.Drink;
+import org.springframework.integration.samples.cafe.DrinkType;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Round trips of the cafe types and their headers through the
+ * {@link CafeJmsMessageConverter} and the {@code CafeBinaryCodec}.
+ *
+ * @author Artem Bilan
+ */
+public class CafeJmsMessageConverterTests {
+
+	private final CafeJmsMessageConverter converter = new CafeJmsMessageConverter();
+
+	private final Session session = mock(Session.class);
+
+	@Test
+	public void testDrinkAndHeadersRoundTrip() throws JMSException {
+		BytesMessage bytesMessage = bytesMessage();
+		given(this.session.createBytesMessage()).willReturn(bytesMessage);
+		UUID correlationId = UUID.randomUUID();
+		Message<Drink> message = MessageBuilder.withPayload(new Drink(42, DrinkType.MOCHA, true, 3))
+				.setCorrelationId(correlationId)
+				.setSequenceNumber(2)
+				.setSequenceSize(5)
+				.setHeader("NUMBER", 42L)
+				.setHeader("barista", "cold")
+				.setReplyChannel(new QueueChannel())
+				.build();
+
+		assertThat(this.converter.toMessage(message, this.session)).isSameAs(bytesMessage);
+		assertThat(bytesMessage.getJMSType()).isEqualTo(CafeJmsMessageConverter.CAFE_TYPE);
+		// as set by the broker
+		bytesMessage.setObjectProperty("JMSXDeliveryCount", 1);
+
+		Message<?> received = (Message<?>) this.converter.fromMessage(bytesMessage);
+		Drink drink = (Drink) received.getPayload();
+		assertThat(drink.getOrderNumber()).isEqualTo(42);
+		assertThat(drink.getDrinkType()).isEqualTo(DrinkType.MOCHA);
+		assertThat(drink.isIced()).isTrue();
+		assertThat(drink.getShots()).isEqualTo(3);
+		assertThat(received.getHeaders().get(IntegrationMessageHeaderAccessor.CORRELATION_ID))
+				.isEqualTo(correlationId);
+		assertThat(received.getHeaders().get(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER)).isEqualTo(2);
+		assertThat(received.getHeaders().get(IntegrationMessageHeaderAccessor.SEQUENCE_SIZE)).isEqualTo(5);
+		assertThat(received.getHeaders().get("NUMBER")).isEqualTo(42L);
+		assertThat(received.getHeaders().get("barista")).isEqualTo("cold");
+		assertThat(received.getHeaders()).doesNotContainKeys(MessageHeaders.REPLY_CHANNEL, "JMSXDeliveryCount",
+				CafeJmsMessageConverter.UUID_HEADERS);
+	}
+
+	@Test
+	public void testUnmappableHeaderFallsBackToObjectMessage() throws JMSException {
+		ObjectMessage objectMessage = mock(ObjectMessage.class);
+		given(this.session.createObjectMessage(any())).willReturn(objectMessage);
+		Message<Drink> message = MessageBuilder.withPayload(new Drink(42, DrinkType.LATTE, false, 2))
+				.setHeader("items", new ArrayList<>(List.of("latte", "mocha")))
+				.build();
+
+		assertThat(this.converter.toMessage(message, this.session)).isSameAs(objectMessage);
+		verify(this.session).createObjectMessage(message);
+		verify(this.session, never()).createBytesMessage();
+	}
+
+	/**
+	 * A {@link BytesMessage} keeping its body, properties and type in memory.
+	 */
+	private static BytesMessage bytesMessage() throws JMSException {
+		BytesMessage message = mock(BytesMessage.class);
+		Map<String, Object> properties = new LinkedHashMap<>();
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		AtomicReference<String> type = new AtomicReference<>();
+		willAnswer(invocation -> properties.put(invocation.getArgument(0), invocation.getArgument(1)))
+				.given(message).setObjectProperty(anyString(), any());
+		willAnswer(invocation -> properties.put(invocation.getArgument(0), invocation.getArgument(1)))
+				.given(message).setStringProperty(anyString(), any());
+		given(message.getObjectProperty(anyString()))
+				.willAnswer(invocation -> properties.get(invocation.<String>getArgument(0)));
+		given(message.getStringProperty(anyString()))
+				.willAnswer(invocation -> (String) properties.get(invocation.<String>getArgument(0)));
+		given(message.propertyExists(anyString()))
+				.willAnswer(invocation -> properties.containsKey(invocation.<String>getArgument(0)));
+		given(message.getPropertyNames())
+				.willAnswer(invocation -> Collections.enumeration(new ArrayList<>(properties.keySet())));
+		willAnswer(invocation -> {
+			body.writeBytes(invocation.getArgument(0));
+			return null;
+		}).given(message).writeBytes(any(byte[].class));
+		given(message.getBodyLength()).willAnswer(invocation -> (long) body.size());
+		given(message.readBytes(any(byte[].class))).willAnswer(invocation -> {
+			byte[] bytes = invocation.getArgument(0);
+			System.arraycopy(body.toByteArray(), 0, bytes, 0, bytes.length);
+			return bytes.length;
+		});
+		willAnswer(invocation -> {
+			type.set(invocation.getArgument(0));
+			return null;
+		}).given(message).setJMSType(any());
+		given(message.getJMSType()).willAnswer(invocation -> type.get());
+		return message;
+	}
+
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.cafe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compact binary encoding of the cafe domain types ({@link Order}, {@link OrderItem},
+ * {@link Drink} and {@link Delivery}), for the message converters of the broker samples
+ * to write these types with, rather than converting them to text first.
+ * <p/>
+ * Every encoded value starts with the schema version and a type tag, so the decoder
+ * needs no type hint. Version 1 is:
+ * <pre>
+ * value     = version(1) tag body
+ * Order     = tag 1, number, count, count * item
+ * OrderItem = tag 2, item
+ * Drink     = tag 3, item
+ * Delivery  = tag 4, orderNumber, count, count * item
+ * item      = flags drinkType shots [orderNumber]
+ * </pre>
+ * All the numbers are zig-zag encoded varints. The flags byte has bit 0 set for an iced
+ * drink and bit 1 set when the item has its own order number; otherwise, it has the
+ * number of the enclosing order or delivery (or 0, for a single item). The drink type
+ * codes are 0 for none and 1-4 for ESPRESSO, LATTE, CAPPUCCINO and MOCHA; new types must
+ * be given new codes, not take the place of these.
+ *
+ * @author Artem Bilan
+ */
+public class CafeBinaryCodec {
+
+	/** the schema version written by this codec */
+	public static final byte VERSION = 1;
+
+	private static final byte ORDER = 1;
+
+	private static final byte ORDER_ITEM = 2;
+
+	private static final byte DRINK = 3;
+
+	private static final byte DELIVERY = 4;
+
+	private static final int ICED = 1;
+
+	private static final int OWN_ORDER_NUMBER = 2;
+
+	private static final DrinkType[] DRINK_TYPES =
+			{ null, DrinkType.ESPRESSO, DrinkType.LATTE, DrinkType.CAPPUCCINO, DrinkType.MOCHA };
+
+	private static final int[] DRINK_TYPE_CODES = new int[DrinkType.values().length];
+
+	static {
+		for (int code = 1; code < DRINK_TYPES.length; code++) {
+			DRINK_TYPE_CODES[DRINK_TYPES[code].ordinal()] = code;
+		}
+	}
+
+	/**
+	 * @param payload the payload.
+	 * @return true if the payload is an {@link Order}, {@link OrderItem}, {@link Drink} or {@link Delivery}.
+	 */
+	public boolean canEncode(Object payload) {
+		return payload instanceof Order || payload instanceof OrderItem
+				|| payload instanceof Drink || payload instanceof Delivery;
+	}
+
+	/**
+	 * @param payload an {@link Order}, {@link OrderItem}, {@link Drink} or {@link Delivery}.
+	 * @return the encoded payload.
+	 */
+	public byte[] encode(Object payload) {
+		if (payload instanceof Order order) {
+			List<OrderItem> items = order.getItems();
+			int size = 2 + varIntSize(order.getNumber()) + varIntSize(items.size());
+			for (OrderItem item : items) {
+				size += itemSize(item.getShots(), item.getOrderNumber(), order.getNumber());
+			}
+			Writer writer = new Writer(size, ORDER);
+			writer.varInt(order.getNumber());
+			writer.varInt(items.size());
+			for (OrderItem item : items) {
+				writer.item(item.isIced(), item.getDrinkType(), item.getShots(), item.getOrderNumber(), order.getNumber());
+			}
+			return writer.bytes;
+		}
+		else if (payload instanceof OrderItem item) {
+			Writer writer = new Writer(2 + itemSize(item.getShots(), item.getOrderNumber(), 0), ORDER_ITEM);
+			writer.item(item.isIced(), item.getDrinkType(), item.getShots(), item.getOrderNumber(), 0);
+			return writer.bytes;
+		}
+		else if (payload instanceof Drink drink) {
+			Writer writer = new Writer(2 + itemSize(drink.getShots(), drink.getOrderNumber(), 0), DRINK);
+			writer.item(drink.isIced(), drink.getDrinkType(), drink.getShots(), drink.getOrderNumber(), 0);
+			return writer.bytes;
+		}
+		else if (payload instanceof Delivery delivery) {
+			List<Drink> drinks = delivery.getDeliveredDrinks() != null ? delivery.getDeliveredDrinks() : List.of();
+			int size = 2 + varIntSize(delivery.getOrderNumber()) + varIntSize(drinks.size());
+			for (Drink drink : drinks) {
+				size += itemSize(drink.getShots(), drink.getOrderNumber(), delivery.getOrderNumber());
+			}
+			Writer writer = new Writer(size, DELIVERY);
+			writer.varInt(delivery.getOrderNumber());
+			writer.varInt(drinks.size());
+			for (Drink drink : drinks) {
+				writer.item(drink.isIced(), drink.getDrinkType(), drink.getShots(), drink.getOrderNumber(),
+						delivery.getOrderNumber());
+			}
+			return writer.bytes;
+		}
+		throw new IllegalArgumentException("Cannot encode " + (payload == null ? null : payload.getClass()));
+	}
+
+	/**
+	 * @param bytes the encoded payload.
+	 * @return the {@link Order}, {@link OrderItem}, {@link Drink} or {@link Delivery}.
+	 */
+	public Object decode(byte[] bytes) {
+		if (bytes.length < 2 || bytes[0] != VERSION) {
+			throw new IllegalArgumentException("Not a version " + VERSION + " cafe payload");
+		}
+		Reader reader = new Reader(bytes);
+		try {
+			switch (bytes[1]) {
+				case ORDER: {
+					Order order = new Order(reader.varInt());
+					int count = reader.varInt();
+					List<OrderItem> items = order.getItems();
+					for (int i = 0; i < count; i++) {
+						reader.item(order.getNumber());
+						items.add(new OrderItem(reader.orderNumber, reader.drinkType, reader.shots, reader.iced));
+					}
+					return order;
+				}
+				case ORDER_ITEM:
+					reader.item(0);
+					return new OrderItem(reader.orderNumber, reader.drinkType, reader.shots, reader.iced);
+				case DRINK:
+					reader.item(0);
+					return new Drink(reader.orderNumber, reader.drinkType, reader.iced, reader.shots);
+				case DELIVERY: {
+					int orderNumber = reader.varInt();
+					int count = reader.varInt();
+					List<Drink> drinks = new ArrayList<>(count);
+					for (int i = 0; i < count; i++) {
+						reader.item(orderNumber);
+						drinks.add(new Drink(reader.orderNumber, reader.drinkType, reader.iced, reader.shots));
+					}
+					Delivery delivery = count > 0 ? new Delivery(drinks) : new Delivery();
+					delivery.setOrderNumber(orderNumber);
+					return delivery;
+				}
+				default:
+					throw new IllegalArgumentException("Unknown cafe payload type: " + bytes[1]);
+			}
+		}
+		catch (ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Truncated cafe payload", e);
+		}
+	}
+
+	private static int itemSize(int shots, int orderNumber, int enclosingOrderNumber) {
+		return 2 + varIntSize(shots) + (orderNumber != enclosingOrderNumber ? varIntSize(orderNumber) : 0);
+	}
+
+	private static int varIntSize(int value) {
+		int zigZag = (value << 1) ^ (value >> 31);
+		return zigZag == 0 ? 1 : (38 - Integer.numberOfLeadingZeros(zigZag)) / 7;
+	}
+
+	private static final class Writer {
+
+		private final byte[] bytes;
+
+		private int position;
+
+		Writer(int size, byte tag) {
+			this.bytes = new byte[size];
+			this.bytes[this.position++] = VERSION;
+			this.bytes[this.position++] = tag;
+		}
+
+		void item(boolean iced, DrinkType drinkType, int shots, int orderNumber, int enclosingOrderNumber) {
+			boolean ownOrderNumber = orderNumber != enclosingOrderNumber;
+			this.bytes[this.position++] = (byte) ((iced ? ICED : 0) | (ownOrderNumber ? OWN_ORDER_NUMBER : 0));
+			this.bytes[this.position++] = (byte) (drinkType == null ? 0 : DRINK_TYPE_CODES[drinkType.ordinal()]);
+			varInt(shots);
+			if (ownOrderNumber) {
+				varInt(orderNumber);
+			}
+		}
+
+		void varInt(int value) {
+			int zigZag = (value << 1) ^ (value >> 31);
+			while ((zigZag & ~0x7F) != 0) {
+				this.bytes[this.position++] = (byte) ((zigZag & 0x7F) | 0x80);
+				zigZag >>>= 7;
+			}
+			this.bytes[this.position++] = (byte) zigZag;
+		}
+
+	}
+
+	private static final class Reader {
+
+		private final byte[] bytes;
+
+		private int position = 2;
+
+		private boolean iced;
+
+		private DrinkType drinkType;
+
+		private int shots;
+
+		private int orderNumber;
+
+		Reader(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		void item(int enclosingOrderNumber) {
+			int flags = this.bytes[this.position++];
+			int drinkTypeCode = this.bytes[this.position++];
+			if (drinkTypeCode < 0 || drinkTypeCode >= DRINK_TYPES.length) {
+				throw new IllegalArgumentException("Unknown drink type: " + drinkTypeCode);
+			}
+			this.iced = (flags & ICED) != 0;
+			this.drinkType = DRINK_TYPES[drinkTypeCode];
+			this.shots = varInt();
+			this.orderNumber = (flags & OWN_ORDER_NUMBER) != 0 ? varInt() : enclosingOrderNumber;
+		}
+
+		int varInt() {
+			int zigZag = 0;
+			for (int shift = 0; shift < 35; shift += 7) {
+				byte b = this.bytes[this.position++];
+				zigZag |= (b & 0x7F) << shift;
+				if (b >= 0) {
+					return (zigZag >>> 1) ^ -(zigZag & 1);
+				}
+			}
+			throw new IllegalArgumentException("Malformed varint");
+		}
+
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.integration.samples.cafe.xml;
 
+import java.util.Arrays;
+
 import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 import org.springframework.integration.samples.cafe.Cafe;
@@ -26,7 +28,8 @@ import org.springframework.integration.samples.cafe.Order;
  * Provides the 'main' method for running the Cafe Demo application. When an
  * order is placed, the Cafe will send that order to the "orders" channel.
  * The relevant components are defined within the configuration file
- * ("cafeDemo.xml").
+ * ("cafeDemo.xml"). Run with {@code --barista-pool} to use pools of baristas instead
+ * of polled queues ("cafeDemo-pool-xml.xml").
  * <p/>
  * If deploying in SpringSource dmServer, the relevant ApplicationContext
  * configuration is in the META-INF/spring directory instead.
@@ -38,8 +41,10 @@ import org.springframework.integration.samples.cafe.Order;
 public class CafeDemoApp {
 
 	public static void main(String[] args) {
-		AbstractApplicationContext context =
-			new ClassPathXmlApplicationContext("/META-INF/spring/integration/cafeDemo-xml.xml", CafeDemoApp.class);
+		String configLocation = Arrays.asList(args).contains("--barista-pool")
+				? "/META-INF/spring/integration/cafeDemo-pool-xml.xml"
+				: "/META-INF/spring/integration/cafeDemo-xml.xml";
+		AbstractApplicationContext context = new ClassPathXmlApplicationContext(configLocation, CafeDemoApp.class);
 
 		Cafe cafe = (Cafe) context.getBean("cafe");
 		for (int i = 1; i <= 100; i++) {
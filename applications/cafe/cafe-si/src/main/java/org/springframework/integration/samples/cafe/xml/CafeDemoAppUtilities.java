@@ -15,6 +15,8 @@
  */
 package org.springframework.integration.samples.cafe.xml;
 
+import java.util.Arrays;
+
 import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.context.support.GenericXmlApplicationContext;
 
@@ -29,21 +31,34 @@ public class CafeDemoAppUtilities {
 	public static final String DEV = "dev";
 	/** spring profile for running in cloud foundry */
 	public static final String CLOUD = "cloud";
+	/** spring profile for sending the cafe types as JSON */
+	public static final String JSON = "json";
+	/** spring profile for sending the cafe types in the compact binary format */
+	public static final String BINARY = "binary";
 
 	/**
 	 *
 	 * @param path path to the file
 	 * @param targetClass the class who's classloader we will use to load the context file
-	 * @param profile a profile name
+	 * @param profiles the profile names
 	 * @return the spring context
 	 */
-	public static AbstractApplicationContext loadProfileContext(String path, Class<?> targetClass, String profile) {
+	public static AbstractApplicationContext loadProfileContext(String path, Class<?> targetClass, String... profiles) {
 		GenericXmlApplicationContext ctx = new GenericXmlApplicationContext();
-		ctx.getEnvironment().setActiveProfiles(profile);
+		ctx.getEnvironment().setActiveProfiles(profiles);
 		ctx.setClassLoader(targetClass.getClassLoader());
 		ctx.load(path);
 		ctx.refresh();
 		return ctx;
 	}
 
+	/**
+	 *
+	 * @param args the command line arguments
+	 * @return {@link #BINARY} if the arguments contain {@code --binary}, otherwise {@link #JSON}
+	 */
+	public static String wireFormat(String[] args) {
+		return Arrays.asList(args).contains("--binary") ? BINARY : JSON;
+	}
+
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.cafe.xml;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.Lifecycle;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.integration.samples.cafe.Cafe;
+import org.springframework.integration.samples.cafe.Delivery;
+import org.springframework.integration.samples.cafe.DrinkType;
+import org.springframework.integration.samples.cafe.Order;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.util.Assert;
+
+/**
+ * Places a number of orders (2000 by default; pass the number as the first argument)
+ * and reports the deliveries per second. The deliveries are counted by an endpoint that
+ * replaces the stdout adapter of the "deliveries" channel. By default, the barista pool configuration
+ * ("cafeDemo-pool-xml.xml") is used; pass {@code --polled} to run the polled queue
+ * configuration ("cafeDemo-xml.xml") instead.
+ * <p/>
+ * The baristas take 10ms to prepare a hot drink and 5ms for a cold one, unless the
+ * delays are set with the {@code cafe.barista.hotDrinkDelay} and
+ * {@code cafe.barista.coldDrinkDelay} system properties.
+ *
+ * @author Artem Bilan
+ */
+public class CafeThroughputHarness {
+
+	public static void main(String[] args) throws InterruptedException {
+		int orders = args.length > 0 && !args[0].startsWith("--") ? Integer.parseInt(args[0]) : 2000;
+		boolean polled = Arrays.asList(args).contains("--polled");
+		long hotDrinkDelay = Long.getLong("cafe.barista.hotDrinkDelay", 10);
+		long coldDrinkDelay = Long.getLong("cafe.barista.coldDrinkDelay", 5);
+
+		AbstractApplicationContext context = new ClassPathXmlApplicationContext(polled
+				? "/META-INF/spring/integration/cafeDemo-xml.xml"
+				: "/META-INF/spring/integration/cafeDemo-pool-xml.xml", CafeThroughputHarness.class);
+
+		Barista barista = context.getBean("barista", Barista.class);
+		barista.setHotDrinkDelay(hotDrinkDelay);
+		barista.setColdDrinkDelay(coldDrinkDelay);
+
+		CountDownLatch deliveries = new CountDownLatch(orders);
+		context.getBean("deliveries.adapter", Lifecycle.class).stop();
+		context.getBean("deliveries", SubscribableChannel.class).subscribe(message -> {
+			Delivery delivery = (Delivery) message.getPayload();
+			Assert.state(delivery.getDeliveredDrinks().size() == 2, () -> "Incomplete delivery: " + delivery);
+			deliveries.countDown();
+		});
+
+		Cafe cafe = context.getBean("cafe", Cafe.class);
+		long start = System.nanoTime();
+		for (int i = 1; i <= orders; i++) {
+			Order order = new Order(i);
+			order.addItem(DrinkType.LATTE, 2, false);
+			order.addItem(DrinkType.MOCHA, 3, true);
+			cafe.placeOrder(order);
+		}
+		boolean delivered = deliveries.await(10, TimeUnit.MINUTES);
+		long elapsed = System.nanoTime() - start;
+		long completed = orders - deliveries.getCount();
+		context.close();
+
+		System.out.printf("%s: %d of %d orders delivered in %d ms, %.1f deliveries/sec%s%n",
+				polled ? "Polled queues" : "Barista pools", completed, orders,
+				TimeUnit.NANOSECONDS.toMillis(elapsed), completed * 1_000_000_000d / elapsed,
+				delivered ? "" : " (timed out)");
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-present the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,16 +24,21 @@ import org.aopalliance.intercept.MethodInterceptor;
 import org.apache.commons.net.ftp.FTPFile;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.mail.autoconfigure.MailProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.dsl.IntegrationFlowDefinition;
 import org.springframework.integration.dsl.Pollers;
 import org.springframework.integration.file.FileHeaders;
-import org.springframework.integration.file.FileWritingMessageHandler;
 import org.springframework.integration.file.dsl.FileWritingMessageHandlerSpec;
 import org.springframework.integration.file.dsl.Files;
+import org.springframework.integration.file.remote.gateway.AbstractRemoteFileOutboundGateway;
+import org.springframework.integration.file.remote.session.CachingSessionFactory;
 import org.springframework.integration.file.remote.session.SessionFactory;
 import org.springframework.integration.file.splitter.FileSplitter;
 import org.springframework.integration.ftp.dsl.Ftp;
@@ -41,8 +46,10 @@ import org.springframework.integration.ftp.session.DefaultFtpSessionFactory;
 import org.springframework.integration.http.config.EnableIntegrationGraphController;
 import org.springframework.integration.mail.dsl.Mail;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.MessagingException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @SpringBootApplication
 @EnableIntegrationGraphController(allowedOrigins = "http://localhost:8082")
@@ -84,17 +91,35 @@ public class Application {
 	 * @return the flow.
 	 */
 	@Bean
-	public IntegrationFlow lines(FileWritingMessageHandler fileOut) {
+	public IntegrationFlow lines(@Qualifier("fileOut") MessageHandler fileOut) {
 		return f -> f.handle(fileOut);
 	}
 
 	@Bean
+	@ConditionalOnProperty(name = "file-split.partitioned.enabled", havingValue = "false", matchIfMissing = true)
 	public FileWritingMessageHandlerSpec fileOut() {
 		return Files.outboundAdapter("'/tmp/out'")
 				.appendNewLine(true)
 				.fileNameExpression("payload.substring(1, 4) + '.txt'");
 	}
 
+	/**
+	 * Alternative to {@link #fileOut()} for large files; lines are written by a fixed
+	 * number of partition threads, each owning the files for its keys.
+	 *
+	 * @return the handler.
+	 */
+	@Bean(name = "fileOut")
+	@ConditionalOnProperty(name = "file-split.partitioned.enabled", havingValue = "true")
+	public PartitionedFileWriter partitionedFileOut(
+			@Value("${file-split.partitioned.partitions:4}") int partitions,
+			@Value("${file-split.partitioned.queue-capacity:10000}") int queueCapacity,
+			@Value("${file-split.partitioned.buffer-size:65536}") int bufferSize) {
+
+		return new PartitionedFileWriter(new File("/tmp/out"), line -> line.substring(1, 4), partitions,
+				queueCapacity, bufferSize);
+	}
+
 	/**
 	 * Process file markers; ignore START, when END, flush the files, ftp them and
 	 * send an email.
@@ -102,6 +127,7 @@ public class Application {
 	 * @return the flow.
 	 */
 	@Bean
+	@ConditionalOnProperty(name = "file-split.parallel-upload.enabled", havingValue = "false", matchIfMissing = true)
 	public IntegrationFlow markers() {
 		return f -> f.<FileSplitter.FileMarker>filter(m -> m.getMark().equals(FileSplitter.FileMarker.Mark.END),
 						e -> e.id("markerFilter"))
@@ -139,6 +165,95 @@ public class Application {
 								.channel("toMail.input")));
 	}
 
+	/**
+	 * Alternative to {@link #markers()}; when END, flush the files, then ftp them
+	 * concurrently over cached sessions and send the email once all three transfers
+	 * have completed.
+	 *
+	 * @return the flow.
+	 */
+	@Bean(name = "markers")
+	@ConditionalOnProperty(name = "file-split.parallel-upload.enabled", havingValue = "true")
+	public IntegrationFlow parallelMarkers() {
+		return f -> f.<FileSplitter.FileMarker>filter(m -> m.getMark().equals(FileSplitter.FileMarker.Mark.END),
+						e -> e.id("markerFilter"))
+				// the transfers run on the upload executor, away from the poller's error handling
+				.enrichHeaders(h -> h.errorChannel("tfrErrors.input", true))
+
+				// first trigger file flushes
+				.publishSubscribeChannel(s -> s
+						.subscribe(sf -> sf
+								.transformWith(transformer -> transformer
+										.id("toTriggerPattern")
+										.expression("'/tmp/out/.*\\.txt'"))
+								.trigger("fileOut", e -> e.id("flusher"))))
+
+				// then send the three files concurrently
+				.publishSubscribeChannel(uploadExecutor(), s -> s
+						.applySequence(true)
+						.subscribe(sf -> upload(sf, "002.txt", cachingFtp1()))
+						.subscribe(sf -> upload(sf, "006.txt", cachingFtp2()))
+						.subscribe(sf -> upload(sf, "009.txt", cachingFtp3())));
+	}
+
+	private void upload(IntegrationFlowDefinition<?> flow, String fileName, SessionFactory<FTPFile> sessionFactory) {
+		flow.<FileSplitter.FileMarker, File>transform(p -> new File("/tmp/out/" + fileName))
+				.enrichHeaders(h -> h.header(FileHeaders.FILENAME, fileName, true))
+				.handle(Ftp.outboundGateway(sessionFactory, AbstractRemoteFileOutboundGateway.Command.PUT, "payload")
+						.remoteDirectoryExpression("'foo'"), e -> e.id("ftp" + fileName.substring(0, 3)))
+				.channel("uploaded.input");
+	}
+
+	/**
+	 * Wait for all three transfers of a file, then send an email.
+	 *
+	 * @return the flow.
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "file-split.parallel-upload.enabled", havingValue = "true")
+	public IntegrationFlow uploaded() {
+		return f -> f
+				.aggregate(a -> a
+						.id("uploadAggregator")
+						.groupTimeout(60_000)
+						.expireGroupsUponCompletion(true)
+						.expireGroupsUponTimeout(true))
+				.transform(Message.class, m -> m.getHeaders().get(FileHeaders.ORIGINAL_FILE, File.class).getAbsolutePath())
+				.enrichHeaders(Mail.headers()
+						.subject("File successfully split and transferred")
+						.from("foo@bar")
+						.toFunction(m -> new String[] {"bar@baz"}))
+				.enrichHeaders(h -> h.header(EMAIL_SUCCESS_SUFFIX, ".success"))
+				.channel("toMail.input");
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "file-split.parallel-upload.enabled", havingValue = "true")
+	public ThreadPoolTaskExecutor uploadExecutor() {
+		ThreadPoolTaskExecutor exec = new ThreadPoolTaskExecutor();
+		exec.setCorePoolSize(3);
+		exec.setThreadNamePrefix("ftp-upload-");
+		return exec;
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "file-split.parallel-upload.enabled", havingValue = "true")
+	public CachingSessionFactory<FTPFile> cachingFtp1() {
+		return new CachingSessionFactory<>(ftp1(), 4);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "file-split.parallel-upload.enabled", havingValue = "true")
+	public CachingSessionFactory<FTPFile> cachingFtp2() {
+		return new CachingSessionFactory<>(ftp2(), 4);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "file-split.parallel-upload.enabled", havingValue = "true")
+	public CachingSessionFactory<FTPFile> cachingFtp3() {
+		return new CachingSessionFactory<>(ftp3(), 4);
+	}
+
 	@Bean
 	public SessionFactory<FTPFile> ftp1() {
 		DefaultFtpSessionFactory ftp = new DefaultFtpSessionFactory();
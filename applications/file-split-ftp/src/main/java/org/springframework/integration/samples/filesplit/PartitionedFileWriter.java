@@ -0,0 +1,378 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.filesplit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.integration.handler.MessageTriggerAction;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * A replacement for the {@code fileOut} {@code FileWritingMessageHandler} for large inputs.
+ * <p>
+ * Lines are hashed by their key onto a fixed number of partitions; each partition is a
+ * single worker thread that owns the output files for its keys, so lines for one key stay
+ * in order and no file is ever shared between threads. The key is computed by a plain
+ * {@link Function} rather than a SpEL expression. Both the queue in front of each
+ * partition and the write buffer per file are bounded, so memory use does not depend on
+ * the size of the input file: a full queue blocks the splitter, and a full buffer is
+ * written to the file's {@link FileChannel}.
+ * <p>
+ * When triggered (by the END file marker), all queued lines are written, the files are
+ * closed and the lines/sec and bytes/sec of each partition are logged.
+ * <p>
+ * The partition threads are started by {@link #start()} and, once they have written the
+ * lines queued so far, stopped by {@link #stop()}; this writer starts before and stops
+ * after the endpoints which feed it.
+ *
+ * @author Artem Bilan
+ */
+public class PartitionedFileWriter implements MessageHandler, MessageTriggerAction, SmartLifecycle {
+
+	private static final Log LOGGER = LogFactory.getLog(PartitionedFileWriter.class);
+
+	private static final Object STOP = new Object();
+
+	private final File directory;
+
+	private final Function<String, String> keyExtractor;
+
+	private final Partition[] partitions;
+
+	private volatile Thread[] threads;
+
+	/**
+	 * Create an instance.
+	 * @param directory the directory in which to create {@code <key>.txt} files.
+	 * @param keyExtractor the function returning the key for a line.
+	 * @param partitions the number of partitions (worker threads).
+	 * @param queueCapacity the maximum number of lines queued for each partition.
+	 * @param bufferSize the write buffer size, per file.
+	 */
+	public PartitionedFileWriter(File directory, Function<String, String> keyExtractor, int partitions,
+			int queueCapacity, int bufferSize) {
+
+		this.directory = directory;
+		this.keyExtractor = keyExtractor;
+		this.partitions = new Partition[partitions];
+		for (int i = 0; i < partitions; i++) {
+			this.partitions[i] = new Partition(i, queueCapacity, bufferSize);
+		}
+	}
+
+	@Override
+	public synchronized void start() {
+		if (this.threads == null) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("file-split-partition-");
+			Thread[] threads = new Thread[this.partitions.length];
+			for (int i = 0; i < this.partitions.length; i++) {
+				threads[i] = threadFactory.newThread(this.partitions[i]);
+			}
+			for (Thread thread : threads) {
+				thread.start();
+			}
+			this.threads = threads;
+		}
+	}
+
+	/**
+	 * Write the lines queued so far, close the files and stop the partition threads.
+	 */
+	@Override
+	public void stop() {
+		Thread[] threads;
+		synchronized (this) {
+			threads = this.threads;
+			this.threads = null;
+		}
+		if (threads != null) {
+			try {
+				for (Partition partition : this.partitions) {
+					partition.queue.put(STOP);
+				}
+				for (Thread thread : threads) {
+					thread.join();
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.threads != null;
+	}
+
+	/**
+	 * Start before and stop after the endpoints, which are in phase 0.
+	 */
+	@Override
+	public int getPhase() {
+		return Integer.MIN_VALUE / 2;
+	}
+
+	@Override
+	public void handleMessage(Message<?> message) throws MessagingException {
+		if (!isRunning()) {
+			throw new MessagingException(message, "The PartitionedFileWriter is not running");
+		}
+		String line = (String) message.getPayload();
+		String key = this.keyExtractor.apply(line);
+		Partition partition = this.partitions[Math.floorMod(key.hashCode(), this.partitions.length)];
+		try {
+			partition.queue.put(new Line(key, line));
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MessagingException(message, "Interrupted while queuing line", e);
+		}
+	}
+
+	/**
+	 * Write all lines queued so far, close the files and log the partition statistics.
+	 * @param message the trigger message; ignored.
+	 */
+	@Override
+	public void trigger(Message<?> message) {
+		CountDownLatch flushed = new CountDownLatch(this.partitions.length);
+		try {
+			for (Partition partition : this.partitions) {
+				partition.queue.put(flushed);
+			}
+			flushed.await();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MessagingException(message, "Interrupted while flushing", e);
+		}
+		for (Partition partition : this.partitions) {
+			if (partition.failure != null) {
+				IOException failure = partition.failure;
+				partition.failure = null;
+				throw new MessagingException(message, "Failed to write partition " + partition.index, failure);
+			}
+		}
+		if (LOGGER.isInfoEnabled()) {
+			getStats().forEach(stats -> LOGGER.info(stats));
+		}
+	}
+
+	/**
+	 * Return the statistics of each partition for the lines written before the last flush.
+	 * @return the statistics.
+	 */
+	public List<PartitionStats> getStats() {
+		List<PartitionStats> stats = new ArrayList<>(this.partitions.length);
+		for (Partition partition : this.partitions) {
+			stats.add(partition.stats);
+		}
+		return stats;
+	}
+
+	/**
+	 * Lines and bytes written by a partition between two flushes, with the corresponding
+	 * rates; the rates are based on the time from the first line to the flush.
+	 */
+	public record PartitionStats(int partition, long lines, long bytes, long linesPerSecond, long bytesPerSecond) {
+
+	}
+
+	private record Line(String key, String text) {
+
+	}
+
+	private final class Partition implements Runnable {
+
+		private final int index;
+
+		private final BlockingQueue<Object> queue;
+
+		private final int bufferSize;
+
+		private final Map<String, OutputFile> files = new HashMap<>();
+
+		private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+		private volatile PartitionStats stats;
+
+		private volatile IOException failure;
+
+		private long lines;
+
+		private long bytes;
+
+		private long start;
+
+		Partition(int index, int queueCapacity, int bufferSize) {
+			this.index = index;
+			this.queue = new ArrayBlockingQueue<>(queueCapacity);
+			this.bufferSize = bufferSize;
+			this.stats = new PartitionStats(index, 0, 0, 0, 0);
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (true) {
+					Object item = this.queue.take();
+					if (item instanceof Line line) {
+						write(line);
+					}
+					else if (item instanceof CountDownLatch flushed) {
+						flush();
+						flushed.countDown();
+					}
+					else {
+						flush();
+						return;
+					}
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private void write(Line line) {
+			if (this.failure != null) {
+				return;
+			}
+			if (this.lines++ == 0) {
+				this.start = System.nanoTime();
+			}
+			try {
+				OutputFile file = this.files.get(line.key());
+				if (file == null) {
+					file = new OutputFile(new File(PartitionedFileWriter.this.directory, line.key() + ".txt"),
+							this.bufferSize);
+					this.files.put(line.key(), file);
+				}
+				this.bytes += file.append(line.text(), this.encoder);
+			}
+			catch (IOException e) {
+				this.failure = e;
+			}
+		}
+
+		private void flush() {
+			for (OutputFile file : this.files.values()) {
+				try {
+					file.close();
+				}
+				catch (IOException e) {
+					if (this.failure == null) {
+						this.failure = e;
+					}
+				}
+			}
+			this.files.clear();
+			long elapsed = Math.max(System.nanoTime() - this.start, 1);
+			this.stats = new PartitionStats(this.index, this.lines, this.bytes,
+					this.lines * 1_000_000_000L / elapsed, this.bytes * 1_000_000_000L / elapsed);
+			this.lines = 0;
+			this.bytes = 0;
+		}
+
+	}
+
+	private static final class OutputFile {
+
+		private final FileChannel channel;
+
+		private final ByteBuffer buffer;
+
+		OutputFile(File file, int bufferSize) throws IOException {
+			file.getParentFile().mkdirs();
+			this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND);
+			this.buffer = ByteBuffer.allocate(bufferSize);
+		}
+
+		/**
+		 * Append the line and a newline; return the number of bytes appended.
+		 */
+		int append(String line, CharsetEncoder encoder) throws IOException {
+			int written = 0;
+			CharBuffer chars = CharBuffer.wrap(line);
+			encoder.reset();
+			while (true) {
+				int position = this.buffer.position();
+				CoderResult result = encoder.encode(chars, this.buffer, true);
+				written += this.buffer.position() - position;
+				if (result.isOverflow()) {
+					drain();
+				}
+				else if (result.isError()) {
+					result.throwException();
+				}
+				else {
+					break;
+				}
+			}
+			encoder.flush(this.buffer);
+			if (!this.buffer.hasRemaining()) {
+				drain();
+			}
+			this.buffer.put((byte) '\n');
+			return written + 1;
+		}
+
+		private void drain() throws IOException {
+			this.buffer.flip();
+			while (this.buffer.hasRemaining()) {
+				this.channel.write(this.buffer);
+			}
+			this.buffer.clear();
+		}
+
+		void close() throws IOException {
+			try {
+				drain();
+			}
+			finally {
+				this.channel.close();
+			}
+		}
+
+	}
+
+}
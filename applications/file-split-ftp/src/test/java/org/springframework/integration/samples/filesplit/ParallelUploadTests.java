@@ -0,0 +1,332 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.filesplit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.commons.net.ftp.FTPClient;
+import org.apache.commons.net.ftp.FTPFile;
+import org.apache.ftpserver.FtpServer;
+import org.apache.ftpserver.FtpServerFactory;
+import org.apache.ftpserver.ftplet.DefaultFtplet;
+import org.apache.ftpserver.ftplet.FtpRequest;
+import org.apache.ftpserver.ftplet.FtpSession;
+import org.apache.ftpserver.ftplet.FtpletResult;
+import org.apache.ftpserver.ftplet.UserManager;
+import org.apache.ftpserver.listener.ListenerFactory;
+import org.apache.ftpserver.usermanager.PropertiesUserManagerFactory;
+import org.apache.ftpserver.usermanager.impl.BaseUser;
+import org.apache.ftpserver.usermanager.impl.ConcurrentLoginPermission;
+import org.apache.ftpserver.usermanager.impl.WritePermission;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.integration.channel.AbstractMessageChannel;
+import org.springframework.integration.endpoint.SourcePollingChannelAdapter;
+import org.springframework.integration.file.remote.session.SessionFactory;
+import org.springframework.integration.file.splitter.FileSplitter;
+import org.springframework.integration.ftp.session.DefaultFtpSessionFactory;
+import org.springframework.integration.test.context.SpringIntegrationTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Runs the sequential and the parallel upload modes against an embedded Apache FtpServer
+ * which takes {@value #UPLOAD_DELAY} ms to accept each upload, and compares their
+ * latency, from the file being picked up to the email being received, and the number of
+ * uploads in progress at the same time.
+ *
+ * @author Artem Bilan
+ */
+@SpringBootTest(classes = ParallelUploadTests.Config.class,
+		properties = "spring.main.allow-bean-definition-overriding=true")
+@DirtiesContext
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+public class ParallelUploadTests {
+
+	private static final Log LOGGER = LogFactory.getLog(ParallelUploadTests.class);
+
+	private static final long UPLOAD_DELAY = 500;
+
+	@TempDir
+	static File ftpRoot;
+
+	private static final AtomicInteger uploading = new AtomicInteger();
+
+	private static final AtomicInteger maxUploading = new AtomicInteger();
+
+	private static FtpServer ftpServer;
+
+	private static int ftpPort;
+
+	private static GreenMail mailServer;
+
+	private static long sequentialLatency;
+
+	@DynamicPropertySource
+	static void mailProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.mail.port", () -> mailServer.getSmtp().getPort());
+	}
+
+	@BeforeAll
+	public static void setup() throws Exception {
+		PropertiesUserManagerFactory userManagerFactory = new PropertiesUserManagerFactory();
+		UserManager userManager = userManagerFactory.createUserManager();
+		BaseUser user = new BaseUser();
+		user.setName("user");
+		user.setPassword("ftp");
+		user.setHomeDirectory(ftpRoot.getAbsolutePath());
+		user.setAuthorities(List.of(new WritePermission(), new ConcurrentLoginPermission(10, 10)));
+		userManager.save(user);
+		new File(ftpRoot, "foo").mkdirs();
+
+		FtpServerFactory serverFactory = new FtpServerFactory();
+		serverFactory.setUserManager(userManager);
+		serverFactory.setFtplets(Map.of("slowUploads", new SlowUploads()));
+		ListenerFactory listenerFactory = new ListenerFactory();
+		listenerFactory.setPort(0);
+		serverFactory.addListener("default", listenerFactory.createListener());
+		ftpServer = serverFactory.createServer();
+		ftpServer.start();
+		ftpPort = serverFactory.getListeners().get("default").getPort();
+
+		ServerSetup smtp = ServerSetupTest.SMTP.dynamicPort();
+		smtp.setServerStartupTimeout(10000);
+		mailServer = new GreenMail(smtp);
+		mailServer.setUser("bar@bar@baz", "user", "pw");
+		mailServer.start();
+	}
+
+	@AfterAll
+	static void tearDown() {
+		mailServer.stop();
+		ftpServer.stop();
+	}
+
+	@BeforeEach
+	public void beforeTest() throws Exception {
+		mailServer.purgeEmailFromAllMailboxes();
+		maxUploading.set(0);
+		cleanup();
+	}
+
+	@AfterEach
+	public void cleanup() throws IOException {
+		File inDir = new File("/tmp/in");
+		if (inDir.exists()) {
+			FileUtils.cleanDirectory(inDir);
+		}
+		File outDir = new File("/tmp/out");
+		if (outDir.exists()) {
+			FileUtils.cleanDirectory(outDir);
+		}
+	}
+
+	@Nested
+	@Order(1)
+	@TestPropertySource(properties = "file-split.parallel-upload.enabled=false")
+	@SpringIntegrationTest(noAutoStartup = "fileInboundChannelAdapter")
+	class Sequential {
+
+		@Autowired
+		private SourcePollingChannelAdapter fileInboundChannelAdapter;
+
+		@Autowired
+		@Qualifier("markers.input")
+		private AbstractMessageChannel markers;
+
+		@Test
+		public void testSequentialUpload() throws Exception {
+			sequentialLatency = splitAndUpload(this.fileInboundChannelAdapter, this.markers);
+			LOGGER.info("Sequential upload latency: " + sequentialLatency + " ms");
+
+			assertThat(maxUploading.get()).isEqualTo(1);
+			assertThat(sequentialLatency).isGreaterThanOrEqualTo(3 * UPLOAD_DELAY);
+		}
+
+	}
+
+	@Nested
+	@Order(2)
+	@TestPropertySource(properties = "file-split.parallel-upload.enabled=true")
+	@SpringIntegrationTest(noAutoStartup = "fileInboundChannelAdapter")
+	class Parallel {
+
+		@Autowired
+		private SourcePollingChannelAdapter fileInboundChannelAdapter;
+
+		@Autowired
+		@Qualifier("markers.input")
+		private AbstractMessageChannel markers;
+
+		@Test
+		public void testParallelUpload() throws Exception {
+			long latency = splitAndUpload(this.fileInboundChannelAdapter, this.markers);
+			LOGGER.info("Parallel upload latency: " + latency + " ms, sequential: " + sequentialLatency + " ms");
+
+			assertThat(maxUploading.get()).isGreaterThan(1);
+			assertThat(sequentialLatency).isPositive();
+			assertThat(latency).isLessThan(sequentialLatency);
+		}
+
+	}
+
+	/**
+	 * Drop a file with one line per account, wait for the email and verify the uploads;
+	 * return the milliseconds from the START marker of the file to the email.
+	 */
+	private static long splitAndUpload(SourcePollingChannelAdapter inboundAdapter, AbstractMessageChannel markers)
+			throws Exception {
+
+		AtomicLong pickedUp = new AtomicLong();
+		ChannelInterceptor startMarker = new ChannelInterceptor() {
+
+			@Override
+			public Message<?> preSend(Message<?> message, MessageChannel channel) {
+				if (message.getPayload() instanceof FileSplitter.FileMarker marker
+						&& marker.getMark() == FileSplitter.FileMarker.Mark.START) {
+					pickedUp.set(System.nanoTime());
+				}
+				return message;
+			}
+
+		};
+		markers.addInterceptor(startMarker);
+		try {
+			File in = new File("/tmp/in/", "foo");
+			in.getParentFile().mkdirs();
+			FileOutputStream fos = new FileOutputStream(in);
+			fos.write("*002,foo,bar\n*006,baz,qux\n*009,fiz,buz\n".getBytes());
+			fos.close();
+			in.renameTo(new File("/tmp/in/", "foo.txt"));
+			inboundAdapter.start();
+
+			assertThat(mailServer.waitForIncomingEmail(20000, 1)).isTrue();
+			long latency = (System.nanoTime() - pickedUp.get()) / 1_000_000;
+			inboundAdapter.stop();
+			MimeMessage[] mail = mailServer.getReceivedMessagesForDomain("baz");
+			assertThat(mail).hasSize(1);
+			assertThat(mail[0].getSubject()).isEqualTo("File successfully split and transferred");
+			assertThat(mail[0].getContent()).asString().contains("foo.txt");
+
+			assertThat(Files.readAllLines(new File(ftpRoot, "foo/002.txt").toPath())).containsExactly("*002,foo,bar");
+			assertThat(Files.readAllLines(new File(ftpRoot, "foo/006.txt").toPath())).containsExactly("*006,baz,qux");
+			assertThat(Files.readAllLines(new File(ftpRoot, "foo/009.txt").toPath())).containsExactly("*009,fiz,buz");
+			assertThat(pickedUp.get()).isNotZero();
+			return latency;
+		}
+		finally {
+			markers.removeInterceptor(startMarker);
+		}
+	}
+
+	/**
+	 * Delays each upload, as a slow link would, and records how many are in progress.
+	 */
+	private static final class SlowUploads extends DefaultFtplet {
+
+		@Override
+		public FtpletResult onUploadStart(FtpSession session, FtpRequest request) throws IOException {
+			maxUploading.accumulateAndGet(uploading.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(UPLOAD_DELAY);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return FtpletResult.DEFAULT;
+		}
+
+		@Override
+		public FtpletResult onUploadEnd(FtpSession session, FtpRequest request) {
+			uploading.decrementAndGet();
+			return FtpletResult.DEFAULT;
+		}
+
+	}
+
+	/**
+	 * Points the ftp session factories at the embedded server.
+	 */
+	@Configuration
+	@Import(Application.class)
+	public static class Config {
+
+		@Bean
+		public SessionFactory<FTPFile> ftp1() {
+			return embeddedServer();
+		}
+
+		@Bean
+		public SessionFactory<FTPFile> ftp2() {
+			return embeddedServer();
+		}
+
+		@Bean
+		public SessionFactory<FTPFile> ftp3() {
+			return embeddedServer();
+		}
+
+		private SessionFactory<FTPFile> embeddedServer() {
+			DefaultFtpSessionFactory ftp = new DefaultFtpSessionFactory();
+			ftp.setHost("localhost");
+			ftp.setPort(ftpPort);
+			ftp.setUsername("user");
+			ftp.setPassword("ftp");
+			ftp.setClientMode(FTPClient.PASSIVE_LOCAL_DATA_CONNECTION_MODE);
+			return ftp;
+		}
+
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.filesplit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.messaging.support.GenericMessage;
+
+public class PartitionedFileWriterTests {
+
+	private static final Log LOGGER = LogFactory.getLog(PartitionedFileWriterTests.class);
+
+	private static final int LINES = 200_000;
+
+	private static final int KEYS = 10;
+
+	@TempDir
+	File out;
+
+	@Test
+	public void testLinesAreWrittenInOrderPerKey() throws Exception {
+		PartitionedFileWriter writer = new PartitionedFileWriter(this.out, line -> line.substring(1, 4), 4, 1000,
+				8192);
+		writer.start();
+		try {
+			for (int i = 0; i < LINES; i++) {
+				writer.handleMessage(new GenericMessage<>(line(i)));
+			}
+			writer.trigger(new GenericMessage<>("flush"));
+
+			for (int key = 0; key < KEYS; key++) {
+				List<String> lines = Files.readAllLines(new File(this.out, String.format("%03d.txt", key)).toPath());
+				assertThat(lines).hasSize(LINES / KEYS);
+				for (int i = 0; i < lines.size(); i++) {
+					assertThat(lines.get(i)).isEqualTo(line(i * KEYS + key));
+				}
+			}
+			List<PartitionedFileWriter.PartitionStats> stats = writer.getStats();
+			assertThat(stats).hasSize(4);
+			assertThat(stats.stream().mapToLong(PartitionedFileWriter.PartitionStats::lines).sum()).isEqualTo(LINES);
+			stats.forEach(LOGGER::info);
+		}
+		finally {
+			writer.stop();
+		}
+	}
+
+	@Test
+	public void testFilesAreAppendedAcrossFlushes() throws Exception {
+		PartitionedFileWriter writer = new PartitionedFileWriter(this.out, line -> line.substring(1, 4), 2, 10, 16);
+		writer.start();
+		try {
+			writer.handleMessage(new GenericMessage<>("*002,foo,bar"));
+			writer.trigger(new GenericMessage<>("flush"));
+			writer.handleMessage(new GenericMessage<>("*002,baz,qux"));
+			writer.trigger(new GenericMessage<>("flush"));
+
+			assertThat(Files.readAllLines(new File(this.out, "002.txt").toPath()))
+					.containsExactly("*002,foo,bar", "*002,baz,qux");
+			writer.handleMessage(new GenericMessage<>("*002,last,line"));
+			writer.stop();
+			assertThat(writer.isRunning()).isFalse();
+			assertThat(Files.readAllLines(new File(this.out, "002.txt").toPath()))
+					.endsWith("*002,last,line");
+		}
+		finally {
+			writer.stop();
+		}
+	}
+
+	private static String line(int i) {
+		return "*" + String.format("%03d", i % KEYS) + ",account," + i;
+	}
+
+}
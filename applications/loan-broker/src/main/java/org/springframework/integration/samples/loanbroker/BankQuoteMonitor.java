@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.loanbroker;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.integration.samples.loanbroker.domain.LoanQuote;
+
+/**
+ * Keeps the latency budget of the deadline-bounded loan broker ("loan-broker-deadline-config.xml")
+ * and the per-bank statistics.
+ * <p>
+ * Each request gets a deadline ({@link #deadline()}) when it is scattered to the banks, and
+ * the quotes received by then are aggregated ({@link #remaining(long)} is the group timeout).
+ * Every quote is timed from the request, and the quotes arriving after their deadline
+ * ({@link #inTime(long)}), or after their request was released, are counted as timeouts
+ * of their bank.
+ *
+ * @author Artem Bilan
+ */
+public class BankQuoteMonitor {
+
+	private final ConcurrentMap<String, BankStats> banks = new ConcurrentHashMap<>();
+
+	private long latencyBudget = 500;
+
+	/**
+	 * @param latencyBudget the time (milliseconds) after a request is sent to the banks
+	 * when the quotes received so far are released (default 500).
+	 */
+	public void setLatencyBudget(long latencyBudget) {
+		this.latencyBudget = latencyBudget;
+	}
+
+	public long getLatencyBudget() {
+		return this.latencyBudget;
+	}
+
+	/**
+	 * @return the deadline ({@link System#nanoTime()}) of a request sent to the banks now.
+	 */
+	public long deadline() {
+		return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.latencyBudget);
+	}
+
+	/**
+	 * @param deadline the deadline of a request.
+	 * @return the milliseconds left until the deadline, rounded up, or 0 if it has passed.
+	 */
+	public long remaining(long deadline) {
+		long remaining = deadline - System.nanoTime();
+		return remaining > 0 ? TimeUnit.NANOSECONDS.toMillis(remaining + 999_999) : 0;
+	}
+
+	/**
+	 * @param deadline the deadline of a request.
+	 * @return true if the deadline has not passed yet.
+	 */
+	public boolean inTime(long deadline) {
+		return deadline - System.nanoTime() > 0;
+	}
+
+	/**
+	 * Record the latency of a quote.
+	 * @param quote the quote.
+	 * @param deadline the deadline of the request.
+	 * @return the quote.
+	 */
+	public LoanQuote quoteReceived(LoanQuote quote, long deadline) {
+		long latency = System.nanoTime() - (deadline - TimeUnit.MILLISECONDS.toNanos(this.latencyBudget));
+		BankStats stats = stats(quote.getLender());
+		stats.quotes.increment();
+		stats.totalLatency.add(latency);
+		stats.maxLatency.accumulate(latency);
+		return quote;
+	}
+
+	/**
+	 * Count a quote that arrived after its deadline or after its request was released.
+	 * @param quote the quote.
+	 */
+	public void quoteTimedOut(LoanQuote quote) {
+		stats(quote.getLender()).timeouts.increment();
+	}
+
+	/**
+	 * @param bank the bank.
+	 * @return the number of quotes of the bank that arrived after their deadline or after their request was released.
+	 */
+	public long getTimeouts(String bank) {
+		BankStats stats = this.banks.get(bank);
+		return stats != null ? stats.timeouts.sum() : 0;
+	}
+
+	/**
+	 * @param bank the bank.
+	 * @return the number of quotes received from the bank.
+	 */
+	public long getQuotes(String bank) {
+		BankStats stats = this.banks.get(bank);
+		return stats != null ? stats.quotes.sum() : 0;
+	}
+
+	/**
+	 * @return one line per bank with the number of quotes, their mean and maximum latency
+	 * and the number of timeouts.
+	 */
+	public String report() {
+		StringBuilder report = new StringBuilder();
+		for (Map.Entry<String, BankStats> entry : new TreeMap<>(this.banks).entrySet()) {
+			BankStats stats = entry.getValue();
+			long quotes = stats.quotes.sum();
+			report.append(String.format("%s: %d quotes, mean %.1f ms, max %.1f ms, %d timeouts%n", entry.getKey(),
+					quotes, quotes > 0 ? stats.totalLatency.sum() / 1_000_000d / quotes : 0,
+					stats.maxLatency.get() / 1_000_000d, stats.timeouts.sum()));
+		}
+		return report.toString();
+	}
+
+	private BankStats stats(String bank) {
+		return this.banks.computeIfAbsent(bank, key -> new BankStats());
+	}
+
+	private static final class BankStats {
+
+		private final LongAdder quotes = new LongAdder();
+
+		private final LongAdder totalLatency = new LongAdder();
+
+		private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+		private final LongAdder timeouts = new LongAdder();
+
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.loanbroker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.samples.loanbroker.domain.LoanQuote;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+/**
+ * An alternative to the {@link LoanQuoteAggregator}, used by a service activator, that
+ * aggregates the {@link LoanQuote}s of a request as they arrive instead of collecting them
+ * all first.
+ * <p>
+ * For each request only the best quotes are kept, in a bounded heap: the best one when the
+ * 'RESPONSE_TYPE' header is 'BEST', otherwise up to {@code maxQuotes}. A quote worse than
+ * all of those is dropped as soon as it arrives. The reply (the best quote, or the kept
+ * quotes ordered by rate) is returned with the last quote of the request, or, if a
+ * {@code releaseRate} is set, with the first quote at or below that rate; the quotes
+ * arriving for a request after that are dropped. {@code null} is returned for all the other
+ * quotes, so the service activator sends no reply for them.
+ * <p>
+ * The state of a request is removed once all its quotes have arrived. A request still
+ * missing quotes {@code groupTimeout} milliseconds after its first one (because a bank
+ * never replied, or was not called) is removed by {@link #expireGroups()}, which is meant
+ * to be called periodically, as a {@code MessageGroupStoreReaper} is; its reply, if any,
+ * has already been sent, otherwise it is never sent, as with the {@link LoanQuoteAggregator}.
+ *
+ * @author Artem Bilan
+ */
+public class IncrementalLoanQuoteAggregator {
+
+	private final ConcurrentMap<Object, QuoteGroup> groups = new ConcurrentHashMap<>();
+
+	private int maxQuotes = Integer.MAX_VALUE;
+
+	private float releaseRate;
+
+	private long groupTimeout = 60_000;
+
+	/**
+	 * @param maxQuotes the number of quotes kept for a request that wants all of them
+	 * (default unbounded).
+	 */
+	public void setMaxQuotes(int maxQuotes) {
+		this.maxQuotes = maxQuotes;
+	}
+
+	/**
+	 * @param releaseRate the rate at or below which a quote releases its request at once
+	 * (default 0: wait for all the quotes).
+	 */
+	public void setReleaseRate(float releaseRate) {
+		this.releaseRate = releaseRate;
+	}
+
+	/**
+	 * @param groupTimeout the time (milliseconds) after the first quote of a request when
+	 * {@link #expireGroups()} removes its state (default 60000).
+	 */
+	public void setGroupTimeout(long groupTimeout) {
+		this.groupTimeout = groupTimeout;
+	}
+
+	/**
+	 * @return the number of requests with quotes still to arrive.
+	 */
+	public int getPendingRequests() {
+		return this.groups.size();
+	}
+
+	/**
+	 * Add a quote to its request.
+	 * @param message the quote message, with the correlation and sequence headers of the request.
+	 * @return the reply, if the request is released by this quote, otherwise null.
+	 */
+	public Message<?> aggregate(Message<LoanQuote> message) {
+		IntegrationMessageHeaderAccessor accessor = new IntegrationMessageHeaderAccessor(message);
+		Object correlationId = accessor.getCorrelationId();
+		int sequenceSize = accessor.getSequenceSize();
+		boolean best = "BEST".equals(message.getHeaders().get("RESPONSE_TYPE"));
+		QuoteGroup group = this.groups.computeIfAbsent(correlationId,
+				key -> new QuoteGroup(best ? 1 : this.maxQuotes));
+		Object reply = null;
+		synchronized (group) {
+			group.received++;
+			if (group.quotes != null) {
+				LoanQuote quote = message.getPayload();
+				group.offer(quote);
+				if (group.received >= sequenceSize
+						|| (this.releaseRate > 0 && quote.getRate() <= this.releaseRate)) {
+
+					reply = best ? group.quotes.peek() : group.sorted();
+					group.quotes = null;
+				}
+			}
+			if (group.received >= sequenceSize) {
+				this.groups.remove(correlationId);
+			}
+		}
+		return reply != null
+				? MessageBuilder.withPayload(reply).copyHeaders(message.getHeaders()).build()
+				: null;
+	}
+
+	/**
+	 * Remove the requests that received their first quote more than {@code groupTimeout}
+	 * milliseconds ago; the quotes arriving for them later start a new request.
+	 * @return the number of requests removed.
+	 */
+	public int expireGroups() {
+		long expired = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(this.groupTimeout);
+		int removed = 0;
+		for (Map.Entry<Object, QuoteGroup> entry : this.groups.entrySet()) {
+			if (entry.getValue().created - expired < 0 && this.groups.remove(entry.getKey(), entry.getValue())) {
+				removed++;
+			}
+		}
+		return removed;
+	}
+
+	private static final class QuoteGroup {
+
+		private final int capacity;
+
+		private final long created = System.nanoTime();
+
+		private PriorityQueue<LoanQuote> quotes;
+
+		private int received;
+
+		QuoteGroup(int capacity) {
+			this.capacity = capacity;
+			// the worst of the kept quotes is at the head, so it can be replaced by a better one
+			this.quotes = new PriorityQueue<>(Math.min(capacity, 16), Comparator.reverseOrder());
+		}
+
+		void offer(LoanQuote quote) {
+			if (this.quotes.size() < this.capacity) {
+				this.quotes.add(quote);
+			}
+			else if (quote.compareTo(this.quotes.peek()) < 0) {
+				this.quotes.poll();
+				this.quotes.add(quote);
+			}
+		}
+
+		List<LoanQuote> sorted() {
+			List<LoanQuote> sorted = new ArrayList<>(this.quotes);
+			sorted.sort(null);
+			return sorted;
+		}
+
+	}
+
+}
@@ -28,8 +28,12 @@ import org.springframework.messaging.handler.annotation.Header;
  * of 'BEST'. In this example, that value is set by the 'gateway' when the
  * {@link LoanBrokerGateway#getBestLoanQuote(org.springframework.integration.samples.loanbroker.domain.LoanRequest)}
  * method is invoked by the client.
+ * <p>
+ * See {@link IncrementalLoanQuoteAggregator} for an alternative that doesn't hold all the
+ * quotes of a request.
  *
  * @author Oleg Zhurakousky
+ * @author Artem Bilan
  */
 public class LoanQuoteAggregator {
 
@@ -42,8 +46,11 @@ public class LoanQuoteAggregator {
 	 */
 	public Object aggregateQuotes(List<LoanQuote> quotes,
 			@Header(value="RESPONSE_TYPE", required=false) String responseType) {
+		if ("BEST".equals(responseType)) {
+			return Collections.min(quotes);
+		}
 		Collections.sort(quotes);
-		return ("BEST".equals(responseType)) ? quotes.get(0) : quotes;
+		return quotes;
 	}
 
 }
@@ -16,6 +16,7 @@
 
 package org.springframework.integration.samples.loanbroker.demo;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.logging.Log;
@@ -29,15 +30,22 @@ import org.springframework.integration.samples.loanbroker.domain.LoanQuote;
 import org.springframework.integration.samples.loanbroker.domain.LoanRequest;
 
 /**
+ * Run with {@code --batch} to send the loan sharks in batches, in a compact binary
+ * layout, to port 11112 instead of one text datagram each to port 11111.
+ *
  * @author Gary Russell
+ * @author Artem Bilan
  */
 public class LoanBrokerSharkDetectorDemo {
 
 	private static final Log logger = LogFactory.getLog(LoanBrokerSharkDetectorDemo.class);
 
-	public static void main(String[] args) {
+	public static void main(String[] args) throws InterruptedException {
+		boolean batch = Arrays.asList(args).contains("--batch");
 		ConfigurableApplicationContext context =
-				new ClassPathXmlApplicationContext("META-INF/spring/integration/bootstrap-config/stubbed-loan-broker-multicast.xml");
+				new ClassPathXmlApplicationContext(batch
+						? "META-INF/spring/integration/bootstrap-config/stubbed-loan-broker-multicast-batch.xml"
+						: "META-INF/spring/integration/bootstrap-config/stubbed-loan-broker-multicast.xml");
 		LoanBrokerGateway broker = context.getBean("loanBrokerGateway", LoanBrokerGateway.class);
 		LoanRequest loanRequest = new LoanRequest();
 		loanRequest.setCustomer(new Customer());
@@ -48,6 +56,10 @@ public class LoanBrokerSharkDetectorDemo {
 		for (LoanQuote loanQuote : loanQuotes) {
 			logger.info(loanQuote);
 		}
+		if (batch) {
+			// give the last, partial, batch of sharks time to be sent
+			Thread.sleep(500);
+		}
 		context.close();
 	}
 
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.loanbroker.shark;
+
+import org.springframework.integration.core.MessageSelector;
+import org.springframework.integration.samples.loanbroker.domain.LoanQuote;
+import org.springframework.messaging.Message;
+
+/**
+ * Accepts the {@link LoanQuote}s with a rate over the threshold; the Java equivalent of
+ * {@code expression="payload.rate > 5.2"}.
+ *
+ * @author Artem Bilan
+ */
+public class SharkDetector implements MessageSelector {
+
+	private float threshold = 5.2f;
+
+	/**
+	 * @param threshold the rate over which a lender is a loan shark (default 5.2).
+	 */
+	public void setThreshold(float threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	public boolean accept(Message<?> message) {
+		return message.getPayload() instanceof LoanQuote quote && quote.getRate() > this.threshold;
+	}
+
+}
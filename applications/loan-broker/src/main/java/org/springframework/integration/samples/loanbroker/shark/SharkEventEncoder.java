@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.loanbroker.shark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.integration.samples.loanbroker.domain.LoanQuote;
+import org.springframework.integration.splitter.AbstractMessageSplitter;
+import org.springframework.messaging.Message;
+
+/**
+ * Splits a batch of shark {@link LoanQuote}s into as few datagrams as fit them, each
+ * no larger than {@code maxDatagramSize} bytes (1400 by default, which fits in an Ethernet
+ * frame). The layout of a datagram (version 1) is:
+ * <pre>
+ * datagram = version(1 byte) count(1 byte) count * event
+ * event    = rate(4 bytes, big-endian float) nameLength(1 byte) name(nameLength bytes of UTF-8)
+ * </pre>
+ * The count and the name length are unsigned; names longer than 255 bytes are truncated,
+ * on a character boundary.
+ * The loanshark application decodes these datagrams with its {@code SharkEventSplitter}.
+ *
+ * @author Artem Bilan
+ */
+public class SharkEventEncoder extends AbstractMessageSplitter {
+
+	/** the layout version written by this encoder */
+	public static final byte VERSION = 1;
+
+	private static final int HEADER_SIZE = 2;
+
+	private static final int MAX_EVENTS = 255;
+
+	private static final int MAX_NAME_LENGTH = 255;
+
+	private int maxDatagramSize = 1400;
+
+	/**
+	 * @param maxDatagramSize the maximum size of a datagram (default 1400).
+	 */
+	public void setMaxDatagramSize(int maxDatagramSize) {
+		this.maxDatagramSize = maxDatagramSize;
+	}
+
+	@Override
+	protected Object splitMessage(Message<?> message) {
+		return encode((List<?>) message.getPayload());
+	}
+
+	/**
+	 * @param quotes the shark quotes.
+	 * @return the datagrams with the shark quotes.
+	 */
+	public List<byte[]> encode(List<?> quotes) {
+		List<byte[]> datagrams = new ArrayList<>();
+		ByteBuffer datagram = newDatagram();
+		int count = 0;
+		for (Object payload : quotes) {
+			LoanQuote quote = (LoanQuote) payload;
+			byte[] name = quote.getLender() != null
+					? quote.getLender().getBytes(StandardCharsets.UTF_8)
+					: new byte[0];
+			int nameLength = nameLength(name);
+			if (count == MAX_EVENTS || datagram.remaining() < 5 + nameLength) {
+				datagrams.add(finish(datagram, count));
+				datagram = newDatagram();
+				count = 0;
+			}
+			datagram.putFloat(quote.getRate());
+			datagram.put((byte) nameLength);
+			datagram.put(name, 0, nameLength);
+			count++;
+		}
+		if (count > 0) {
+			datagrams.add(finish(datagram, count));
+		}
+		return datagrams;
+	}
+
+	/**
+	 * The length of the name, or of its longest prefix of whole UTF-8 characters that fits
+	 * in {@value #MAX_NAME_LENGTH} bytes.
+	 */
+	private static int nameLength(byte[] name) {
+		if (name.length <= MAX_NAME_LENGTH) {
+			return name.length;
+		}
+		int length = MAX_NAME_LENGTH;
+		while (length > 0 && (name[length] & 0xC0) == 0x80) {
+			length--;
+		}
+		return length;
+	}
+
+	private ByteBuffer newDatagram() {
+		ByteBuffer datagram = ByteBuffer.allocate(Math.max(this.maxDatagramSize, HEADER_SIZE + 5 + MAX_NAME_LENGTH));
+		datagram.put(VERSION);
+		datagram.put((byte) 0);
+		return datagram;
+	}
+
+	private static byte[] finish(ByteBuffer datagram, int count) {
+		datagram.put(1, (byte) count);
+		return Arrays.copyOf(datagram.array(), datagram.position());
+	}
+
+}
@@ -16,14 +16,22 @@
 
 package org.springframework.integration.samples.loanbroker.stubs;
 
-import java.util.Calendar;
-import java.util.Random;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
 
 import org.springframework.integration.samples.loanbroker.domain.LoanQuote;
 import org.springframework.integration.samples.loanbroker.domain.LoanRequest;
 
 /**
+ * Quotes with random rates, terms and amounts; by default from the
+ * {@link java.util.concurrent.ThreadLocalRandom}, or, when a seed is set, from a sequence
+ * per thread determined by the seed and the thread name, so a benchmark can be repeated
+ * with the same quotes.
+ *
  * @author Oleg Zhurakousky
+ * @author Artem Bilan
  */
 public class BankStub {
 
@@ -31,6 +39,12 @@ public class BankStub {
 
 	private float baseRate = 6.0f;
 
+	private long delay;
+
+	private StubRandom random = StubRandom.threadLocal();
+
+	private Clock clock = Clock.systemUTC();
+
 	public void setName(String name) {
 		this.name = name;
 	}
@@ -39,20 +53,47 @@ public class BankStub {
 		this.baseRate = baseRate;
 	}
 
+	/**
+	 * @param seed the seed of the sequence of random numbers for the quotes
+	 */
+	public void setSeed(long seed) {
+		this.random = StubRandom.seeded(seed);
+	}
+
+	/**
+	 * @param clock the clock for the quote dates (default UTC system clock)
+	 */
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * @param delay the time (milliseconds) the bank takes to quote (default 0)
+	 */
+	public void setDelay(long delay) {
+		this.delay = delay;
+	}
+
 	/**
 	 * @param loanRequest the loan request
 	 * @return a LoanQuote for the given request
 	 */
 	public LoanQuote quote(LoanRequest loanRequest) {
-		Calendar calendar = Calendar.getInstance();
+		if (this.delay > 0) {
+			try {
+				Thread.sleep(this.delay);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		Instant now = this.clock.instant();
 		LoanQuote loanQuote = new LoanQuote();
-		Random random = new Random();
-		loanQuote.setQuoteDate(calendar.getTime());
-		calendar.add(Calendar.DAY_OF_YEAR, random.nextInt(25));
-		loanQuote.setExpirationDate(calendar.getTime());
-		loanQuote.setRate(random.nextFloat() + this.baseRate);
-		loanQuote.setTerm(10 + random.nextInt(10));
-		loanQuote.setAmount(250000 + random.nextInt(40000));
+		loanQuote.setQuoteDate(Date.from(now));
+		loanQuote.setExpirationDate(Date.from(now.plus(this.random.nextInt(25), ChronoUnit.DAYS)));
+		loanQuote.setRate(this.random.nextFloat() + this.baseRate);
+		loanQuote.setTerm(10 + this.random.nextInt(10));
+		loanQuote.setAmount(250000 + this.random.nextInt(40000));
 		loanQuote.setLender(this.name);
 		return loanQuote;
 	}
@@ -16,8 +16,6 @@
 
 package org.springframework.integration.samples.loanbroker.stubs;
 
-import java.util.Random;
-
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -25,20 +23,45 @@ import org.springframework.integration.samples.loanbroker.domain.CreditReport;
 import org.springframework.integration.samples.loanbroker.domain.LoanRequest;
 
 /**
+ * Reports random credit scores between 600 and 849; by default from the
+ * {@link java.util.concurrent.ThreadLocalRandom}, or, when a seed is set, from a sequence
+ * per thread determined by the seed and the thread name.
+ *
  * @author Oleg Zhurakousky
  * @author Gary Russell
+ * @author Artem Bilan
  */
 public class CreditBureauStub {
 
 	private static final Log logger = LogFactory.getLog(CreditBureauStub.class);
 
+	private StubRandom random = StubRandom.threadLocal();
+
+	private boolean logScores = true;
+
+	/**
+	 * @param seed the seed of the sequence of random numbers for the credit scores
+	 */
+	public void setSeed(long seed) {
+		this.random = StubRandom.seeded(seed);
+	}
+
+	/**
+	 * @param logScores false to not log every credit score (default true)
+	 */
+	public void setLogScores(boolean logScores) {
+		this.logScores = logScores;
+	}
+
 	/**
 	 * @param loanRequest the loan request
 	 * @return the CreditReport for the given loan request
 	 */
 	public CreditReport getCreditReport(LoanRequest loanRequest) {
-		int creditScore = 600 + new Random().nextInt(250);
-		logger.info("Credit Score: " + creditScore);
+		int creditScore = 600 + this.random.nextInt(250);
+		if (this.logScores && logger.isInfoEnabled()) {
+			logger.info("Credit Score: " + creditScore);
+		}
 		return new CreditReport(creditScore);
 	}
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.loanbroker.stubs;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The random numbers of the stubs: either those of the {@link ThreadLocalRandom}, or, for
+ * reproducible runs, a sequence per thread determined by a seed and the thread name.
+ *
+ * @author Artem Bilan
+ */
+abstract class StubRandom {
+
+	abstract int nextInt(int bound);
+
+	abstract float nextFloat();
+
+	static StubRandom threadLocal() {
+		return ThreadLocalStubRandom.INSTANCE;
+	}
+
+	static StubRandom seeded(long seed) {
+		return new SeededStubRandom(seed);
+	}
+
+	private static final class ThreadLocalStubRandom extends StubRandom {
+
+		private static final ThreadLocalStubRandom INSTANCE = new ThreadLocalStubRandom();
+
+		@Override
+		int nextInt(int bound) {
+			return ThreadLocalRandom.current().nextInt(bound);
+		}
+
+		@Override
+		float nextFloat() {
+			return ThreadLocalRandom.current().nextFloat();
+		}
+
+	}
+
+	/**
+	 * The SplitMix64 sequence, with a state confined to each thread and started from the
+	 * seed mixed with the thread name: the threads never contend, and a thread draws the
+	 * same numbers in every run with the same seed and the same thread names.
+	 */
+	private static final class SeededStubRandom extends StubRandom {
+
+		private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+		private final ThreadLocal<State> state;
+
+		SeededStubRandom(long seed) {
+			this.state = ThreadLocal.withInitial(
+					() -> new State(seed ^ mix(Thread.currentThread().getName().hashCode() * GAMMA)));
+		}
+
+		@Override
+		int nextInt(int bound) {
+			return (int) (((nextLong() >>> 32) * bound) >>> 32);
+		}
+
+		@Override
+		float nextFloat() {
+			return (nextLong() >>> 40) * 0x1.0p-24f;
+		}
+
+		private long nextLong() {
+			State current = this.state.get();
+			current.value += GAMMA;
+			return mix(current.value);
+		}
+
+		private static long mix(long z) {
+			z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+			z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+			return z ^ (z >>> 31);
+		}
+
+		private static final class State {
+
+			private long value;
+
+			State(long value) {
+				this.value = value;
+			}
+
+		}
+
+	}
+
+}
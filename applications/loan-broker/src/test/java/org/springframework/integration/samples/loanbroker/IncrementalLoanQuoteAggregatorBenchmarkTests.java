@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.loanbroker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.samples.loanbroker.domain.LoanQuote;
+import org.springframework.messaging.Message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the {@link IncrementalLoanQuoteAggregator} with the {@link LoanQuoteAggregator}
+ * for requests quoted by hundreds of lenders (a million quote messages in all).
+ *
+ * @author Artem Bilan
+ */
+@Tag("benchmark")
+public class IncrementalLoanQuoteAggregatorBenchmarkTests {
+
+	private static final Log LOGGER = LogFactory.getLog(IncrementalLoanQuoteAggregatorBenchmarkTests.class);
+
+	private static final int LENDERS = 500;
+
+	private final Random random = new Random(42);
+
+	@Test
+	public void requestsPerSecond() {
+		int requests = 2000;
+		List<List<Message<LoanQuote>>> allQuotes = new ArrayList<>(requests);
+		for (int i = 0; i < requests; i++) {
+			float[] rates = new float[LENDERS];
+			for (int j = 0; j < LENDERS; j++) {
+				rates[j] = 3.0f + this.random.nextFloat() * 4;
+			}
+			allQuotes.add(IncrementalLoanQuoteAggregatorTests.quotes(UUID.randomUUID(), "BEST", rates));
+		}
+
+		for (int round = 1; round <= 5; round++) {
+			LoanQuoteAggregator collecting = new LoanQuoteAggregator();
+			long start = System.nanoTime();
+			float collectingBest = 0;
+			for (List<Message<LoanQuote>> messages : allQuotes) {
+				List<LoanQuote> quotes = new ArrayList<>();
+				for (Message<LoanQuote> message : messages) {
+					quotes.add(message.getPayload());
+				}
+				quotes.sort(null);
+				collectingBest += quotes.get(0).getRate();
+			}
+			long sorting = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (List<Message<LoanQuote>> messages : allQuotes) {
+				List<LoanQuote> quotes = new ArrayList<>(messages.size());
+				for (Message<LoanQuote> message : messages) {
+					quotes.add(message.getPayload());
+				}
+				collecting.aggregateQuotes(quotes, "BEST");
+			}
+			long collected = System.nanoTime() - start;
+
+			IncrementalLoanQuoteAggregator incremental = new IncrementalLoanQuoteAggregator();
+			start = System.nanoTime();
+			float incrementalBest = 0;
+			for (List<Message<LoanQuote>> messages : allQuotes) {
+				for (Message<LoanQuote> message : messages) {
+					Message<?> reply = incremental.aggregate(message);
+					if (reply != null) {
+						incrementalBest += ((LoanQuote) reply.getPayload()).getRate();
+					}
+				}
+			}
+			long streamed = System.nanoTime() - start;
+
+			assertThat(incrementalBest).isEqualTo(collectingBest);
+			LOGGER.info(String.format("Round %d, %d lenders: sort all %,.0f, collect and min %,.0f, "
+							+ "incremental %,.0f requests/sec", round, LENDERS,
+					requests * 1_000_000_000d / sorting, requests * 1_000_000_000d / collected,
+					requests * 1_000_000_000d / streamed));
+		}
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.loanbroker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.samples.loanbroker.domain.LoanQuote;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the {@link IncrementalLoanQuoteAggregator}.
+ *
+ * @author Artem Bilan
+ */
+public class IncrementalLoanQuoteAggregatorTests {
+
+	@Test
+	public void testBestQuote() {
+		IncrementalLoanQuoteAggregator aggregator = new IncrementalLoanQuoteAggregator();
+		List<Message<LoanQuote>> messages = quotes(UUID.randomUUID(), "BEST", 5.0f, 3.2f, 4.1f);
+
+		assertThat(aggregator.aggregate(messages.get(0))).isNull();
+		assertThat(aggregator.aggregate(messages.get(1))).isNull();
+		Message<?> reply = aggregator.aggregate(messages.get(2));
+
+		assertThat(reply).isNotNull();
+		assertThat(((LoanQuote) reply.getPayload()).getRate()).isEqualTo(3.2f);
+		assertThat(reply.getHeaders().get("RESPONSE_TYPE")).isEqualTo("BEST");
+		assertThat(aggregator.getPendingRequests()).isZero();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testTopQuotes() {
+		IncrementalLoanQuoteAggregator aggregator = new IncrementalLoanQuoteAggregator();
+		aggregator.setMaxQuotes(2);
+		Message<?> reply = null;
+		for (Message<LoanQuote> message : quotes(UUID.randomUUID(), null, 5.0f, 3.2f, 6.3f, 4.1f)) {
+			reply = aggregator.aggregate(message);
+		}
+
+		assertThat(reply).isNotNull();
+		assertThat((List<LoanQuote>) reply.getPayload()).extracting(LoanQuote::getRate).containsExactly(3.2f, 4.1f);
+	}
+
+	@Test
+	public void testEarlyRelease() {
+		IncrementalLoanQuoteAggregator aggregator = new IncrementalLoanQuoteAggregator();
+		aggregator.setReleaseRate(3.5f);
+		List<Message<LoanQuote>> messages = quotes(UUID.randomUUID(), "BEST", 5.0f, 3.2f, 3.0f);
+
+		assertThat(aggregator.aggregate(messages.get(0))).isNull();
+		Message<?> reply = aggregator.aggregate(messages.get(1));
+		assertThat(reply).isNotNull();
+		assertThat(((LoanQuote) reply.getPayload()).getRate()).isEqualTo(3.2f);
+		assertThat(aggregator.getPendingRequests()).isEqualTo(1);
+
+		assertThat(aggregator.aggregate(messages.get(2))).isNull();
+		assertThat(aggregator.getPendingRequests()).isZero();
+	}
+
+	@Test
+	public void testExpireGroups() throws InterruptedException {
+		IncrementalLoanQuoteAggregator aggregator = new IncrementalLoanQuoteAggregator();
+		aggregator.setGroupTimeout(50);
+		aggregator.setReleaseRate(3.5f);
+		// released early, with a quote still to arrive
+		List<Message<LoanQuote>> released = quotes(UUID.randomUUID(), "BEST", 3.2f, 5.0f);
+		assertThat(aggregator.aggregate(released.get(0))).isNotNull();
+		// a bank never replies
+		List<Message<LoanQuote>> stale = quotes(UUID.randomUUID(), "BEST", 5.0f, 4.1f);
+		assertThat(aggregator.aggregate(stale.get(0))).isNull();
+		assertThat(aggregator.getPendingRequests()).isEqualTo(2);
+		assertThat(aggregator.expireGroups()).isZero();
+
+		Thread.sleep(100);
+		aggregator.aggregate(quotes(UUID.randomUUID(), "BEST", 5.0f, 4.1f).get(0));
+		assertThat(aggregator.expireGroups()).isEqualTo(2);
+		assertThat(aggregator.getPendingRequests()).isEqualTo(1);
+	}
+
+	static List<Message<LoanQuote>> quotes(Object correlationId, String responseType, float... rates) {
+		List<Message<LoanQuote>> messages = new ArrayList<>(rates.length);
+		for (int i = 0; i < rates.length; i++) {
+			LoanQuote quote = new LoanQuote();
+			quote.setLender("lender-" + i);
+			quote.setRate(rates[i]);
+			messages.add(MessageBuilder.withPayload(quote)
+					.setHeader(IntegrationMessageHeaderAccessor.CORRELATION_ID, correlationId)
+					.setHeader(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER, i + 1)
+					.setHeader(IntegrationMessageHeaderAccessor.SEQUENCE_SIZE, rates.length)
+					.setHeader("RESPONSE_TYPE", responseType)
+					.build());
+		}
+		return messages;
+	}
+
+}
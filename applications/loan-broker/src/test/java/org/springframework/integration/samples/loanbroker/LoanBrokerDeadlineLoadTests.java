@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.loanbroker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.samples.loanbroker.domain.Customer;
+import org.springframework.integration.samples.loanbroker.domain.LoanQuote;
+import org.springframework.integration.samples.loanbroker.domain.LoanRequest;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends concurrent requests to the deadline-bounded loan broker, in which the two best
+ * banks take four times the latency budget to quote, and checks that every request is
+ * answered well before these banks could have replied, with the best of the quotes of the
+ * other banks.
+ *
+ * @author Artem Bilan
+ */
+@SpringJUnitConfig(locations = "classpath:META-INF/spring/integration/LoanBrokerDeadlineLoadTests-context.xml")
+public class LoanBrokerDeadlineLoadTests {
+
+	private static final Log LOGGER = LogFactory.getLog(LoanBrokerDeadlineLoadTests.class);
+
+	private static final int CLIENTS = 10;
+
+	private static final int REQUESTS_PER_CLIENT = 20;
+
+	@Autowired
+	private LoanBrokerGateway loanBrokerGateway;
+
+	@Autowired
+	private BankQuoteMonitor bankQuoteMonitor;
+
+	@Autowired
+	private ThreadPoolTaskExecutor bankExecutor;
+
+	@Autowired
+	@Qualifier("loanQuotesChannel")
+	private MessageChannel loanQuotesChannel;
+
+	@Test
+	public void testQuotePastItsDeadlineIsDiscarded() {
+		LoanQuote quote = new LoanQuote();
+		quote.setLender("lateBank");
+		QueueChannel replyChannel = new QueueChannel();
+
+		// the group of this request is long gone: the quote must not start a new one
+		this.loanQuotesChannel.send(MessageBuilder.withPayload(quote)
+				.setCorrelationId(UUID.randomUUID())
+				.setSequenceNumber(1)
+				.setSequenceSize(5)
+				.setHeader("RESPONSE_TYPE", "BEST")
+				.setHeader("quoteDeadline", System.nanoTime() - TimeUnit.MINUTES.toNanos(2))
+				.setReplyChannel(replyChannel)
+				.build());
+
+		assertThat(this.bankQuoteMonitor.getTimeouts("lateBank")).isEqualTo(1);
+		assertThat(replyChannel.receive(this.bankQuoteMonitor.getLatencyBudget())).isNull();
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void testSlowBanksDoNotHoldRequests() throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		List<Future<Long>> results = new ArrayList<>();
+		long start = System.nanoTime();
+		for (int i = 0; i < CLIENTS; i++) {
+			results.add(clients.submit(() -> {
+				long maxLatency = 0;
+				for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+					LoanRequest loanRequest = new LoanRequest();
+					loanRequest.setCustomer(new Customer());
+					long requestStart = System.nanoTime();
+					LoanQuote quote = this.loanBrokerGateway.getBestLoanQuote(loanRequest);
+					maxLatency = Math.max(maxLatency, System.nanoTime() - requestStart);
+					assertThat(quote.getLender()).isIn("qualityBank", "friendlyBank", "easyBank");
+				}
+				return maxLatency;
+			}));
+		}
+		long maxLatency = 0;
+		for (Future<Long> result : results) {
+			maxLatency = Math.max(maxLatency, result.get(1, TimeUnit.MINUTES));
+		}
+		long elapsed = System.nanoTime() - start;
+		clients.shutdown();
+
+		// the slow banks take 4 budgets, so twice the budget leaves ample room for a loaded machine
+		long budget = this.bankQuoteMonitor.getLatencyBudget();
+		assertThat(TimeUnit.NANOSECONDS.toMillis(maxLatency)).isLessThan(2 * budget);
+
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (this.bankExecutor.getActiveCount() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertThat(this.bankExecutor.getActiveCount()).isZero();
+		assertThat(this.bankQuoteMonitor.getQuotes("exclusiveBank") + this.bankQuoteMonitor.getQuotes("premiereBank"))
+				.isPositive();
+		assertThat(this.bankQuoteMonitor.getTimeouts("exclusiveBank"))
+				.isEqualTo(this.bankQuoteMonitor.getQuotes("exclusiveBank"));
+		assertThat(this.bankQuoteMonitor.getTimeouts("premiereBank"))
+				.isEqualTo(this.bankQuoteMonitor.getQuotes("premiereBank"));
+		assertThat(this.bankQuoteMonitor.getTimeouts("qualityBank")).isZero();
+		assertThat(this.bankQuoteMonitor.getTimeouts("friendlyBank")).isZero();
+		assertThat(this.bankQuoteMonitor.getTimeouts("easyBank")).isZero();
+
+		int requests = CLIENTS * REQUESTS_PER_CLIENT;
+		LOGGER.info(String.format("%d requests in %d ms, %.1f requests/sec, max latency %d ms (budget %d ms)%n%s",
+				requests, TimeUnit.NANOSECONDS.toMillis(elapsed), requests * 1_000_000_000d / elapsed,
+				TimeUnit.NANOSECONDS.toMillis(maxLatency), budget, this.bankQuoteMonitor.report()));
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.loanbroker.stubs;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.samples.loanbroker.domain.LoanQuote;
+import org.springframework.integration.samples.loanbroker.domain.LoanRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that seeded stubs are reproducible, and, as a benchmark, compares the quotes per second of the
+ * {@link BankStub} with those of its former implementation (a new {@link Random} and
+ * {@link Calendar} for each quote), from several threads.
+ *
+ * @author Artem Bilan
+ */
+public class StubsBenchmarkTests {
+
+	private static final Log LOGGER = LogFactory.getLog(StubsBenchmarkTests.class);
+
+	private static final int THREADS = 4;
+
+	private static final int QUOTES_PER_THREAD = 500_000;
+
+	@Test
+	public void testSeededStubsAreReproducible() {
+		Clock clock = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+		BankStub first = bank(clock, 42);
+		BankStub second = bank(clock, 42);
+		CreditBureauStub firstBureau = bureau(7);
+		CreditBureauStub secondBureau = bureau(7);
+		LoanRequest request = new LoanRequest();
+
+		for (int i = 0; i < 100; i++) {
+			LoanQuote quote = first.quote(request);
+			LoanQuote other = second.quote(request);
+			assertThat(quote.getRate()).isEqualTo(other.getRate()).isBetween(4.0f, 5.0f);
+			assertThat(quote.getTerm()).isEqualTo(other.getTerm()).isBetween(10, 19);
+			assertThat(quote.getAmount()).isEqualTo(other.getAmount());
+			assertThat(quote.getExpirationDate()).isEqualTo(other.getExpirationDate());
+			assertThat(firstBureau.getCreditReport(request).getScore())
+					.isEqualTo(secondBureau.getCreditReport(request).getScore())
+					.isBetween(600, 849);
+		}
+	}
+
+	@Test
+	public void testSeededStubsAreReproducibleAcrossThreadsOfTheSameName() throws Exception {
+		Clock clock = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+		BankStub bank = bank(clock, 42);
+		List<Float> rates = rates(bank, "quotes");
+
+		assertThat(rates(bank(clock, 42), "quotes")).isEqualTo(rates);
+		assertThat(rates(bank, "quotes")).isEqualTo(rates);
+		assertThat(rates(bank(clock, 42), "other")).isNotEqualTo(rates);
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void quotesPerSecond() throws Exception {
+		BankStub bank = bank(Clock.systemUTC(), 0);
+		bank.setName("bank");
+		BankStub threadLocalBank = new BankStub();
+		threadLocalBank.setName("bank");
+		LoanRequest request = new LoanRequest();
+		for (int round = 1; round <= 3; round++) {
+			LOGGER.info(String.format("Round %d: former %,.0f, thread-local %,.0f, seeded %,.0f quotes/sec", round,
+					quotesPerSecond(() -> formerQuote("bank", 4.0f).getTerm()),
+					quotesPerSecond(() -> threadLocalBank.quote(request).getTerm()),
+					quotesPerSecond(() -> bank.quote(request).getTerm())));
+		}
+	}
+
+	/**
+	 * The rates of ten quotes of the bank, drawn by a new thread of the given name.
+	 */
+	private static List<Float> rates(BankStub bank, String threadName) throws InterruptedException {
+		AtomicReference<List<Float>> rates = new AtomicReference<>();
+		Thread thread = new Thread(() -> {
+			List<Float> drawn = new ArrayList<>();
+			for (int i = 0; i < 10; i++) {
+				drawn.add(bank.quote(new LoanRequest()).getRate());
+			}
+			rates.set(drawn);
+		}, threadName);
+		thread.start();
+		thread.join(10_000);
+		return rates.get();
+	}
+
+	private static double quotesPerSecond(LongSupplier quote) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<Long>> results = new ArrayList<>();
+		long start = System.nanoTime();
+		for (int i = 0; i < THREADS; i++) {
+			results.add(executor.submit(() -> {
+				long blackhole = 0;
+				for (int j = 0; j < QUOTES_PER_THREAD; j++) {
+					blackhole += quote.getAsLong();
+				}
+				return blackhole;
+			}));
+		}
+		for (Future<Long> result : results) {
+			assertThat(result.get(1, TimeUnit.MINUTES)).isPositive();
+		}
+		long elapsed = System.nanoTime() - start;
+		executor.shutdown();
+		return THREADS * QUOTES_PER_THREAD * 1_000_000_000d / elapsed;
+	}
+
+	private static BankStub bank(Clock clock, long seed) {
+		BankStub bank = new BankStub();
+		bank.setBaseRate(4.0f);
+		bank.setClock(clock);
+		bank.setSeed(seed);
+		return bank;
+	}
+
+	private static CreditBureauStub bureau(long seed) {
+		CreditBureauStub bureau = new CreditBureauStub();
+		bureau.setLogScores(false);
+		bureau.setSeed(seed);
+		return bureau;
+	}
+
+	private static LoanQuote formerQuote(String name, float baseRate) {
+		Calendar calendar = Calendar.getInstance();
+		LoanQuote loanQuote = new LoanQuote();
+		Random random = new Random();
+		loanQuote.setQuoteDate(calendar.getTime());
+		calendar.add(Calendar.DAY_OF_YEAR, random.nextInt(25));
+		loanQuote.setExpirationDate(calendar.getTime());
+		loanQuote.setRate(random.nextFloat() + baseRate);
+		loanQuote.setTerm(10 + random.nextInt(10));
+		loanQuote.setAmount(250000 + random.nextInt(40000));
+		loanQuote.setLender(name);
+		return loanQuote;
+	}
+
+}
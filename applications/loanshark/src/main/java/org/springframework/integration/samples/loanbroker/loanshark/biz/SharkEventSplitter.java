@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.loanbroker.loanshark.biz;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.integration.splitter.AbstractMessageSplitter;
+import org.springframework.messaging.Message;
+
+/**
+ * Splits a datagram with a batch of shark events, sent by the {@code SharkEventEncoder} of
+ * the loan broker, into {@link SharkQuote}s. The layout of a datagram (version 1) is:
+ * <pre>
+ * datagram = version(1 byte) count(1 byte) count * event
+ * event    = rate(4 bytes, big-endian float) nameLength(1 byte) name(nameLength bytes of UTF-8)
+ * </pre>
+ * The count and the name length are unsigned.
+ *
+ * @author Artem Bilan
+ */
+public class SharkEventSplitter extends AbstractMessageSplitter {
+
+	/** the layout version read by this splitter */
+	public static final byte VERSION = 1;
+
+	@Override
+	protected Object splitMessage(Message<?> message) {
+		return decode((byte[]) message.getPayload());
+	}
+
+	/**
+	 * @param datagram the datagram.
+	 * @return the shark quotes in the datagram.
+	 */
+	public List<SharkQuote> decode(byte[] datagram) {
+		if (datagram.length < 2 || datagram[0] != VERSION) {
+			throw new IllegalArgumentException("Not a version " + VERSION + " shark events datagram");
+		}
+		int count = datagram[1] & 0xFF;
+		List<SharkQuote> quotes = new ArrayList<>(count);
+		int position = 2;
+		try {
+			for (int i = 0; i < count; i++) {
+				float rate = Float.intBitsToFloat((datagram[position] & 0xFF) << 24
+						| (datagram[position + 1] & 0xFF) << 16
+						| (datagram[position + 2] & 0xFF) << 8
+						| (datagram[position + 3] & 0xFF));
+				int nameLength = datagram[position + 4] & 0xFF;
+				position += 5;
+				if (position + nameLength > datagram.length) {
+					throw new ArrayIndexOutOfBoundsException(position + nameLength);
+				}
+				quotes.add(new SharkQuote(new String(datagram, position, nameLength, StandardCharsets.UTF_8), rate));
+				position += nameLength;
+			}
+		}
+		catch (ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Truncated shark events datagram", e);
+		}
+		return quotes;
+	}
+
+}
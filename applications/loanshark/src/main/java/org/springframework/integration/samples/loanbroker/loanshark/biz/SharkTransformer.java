@@ -15,14 +15,25 @@
  */
 package org.springframework.integration.samples.loanbroker.loanshark.biz;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * @author Gary Russell
+ * @author Artem Bilan
  *
  */
 public class SharkTransformer {
 
 	public SharkQuote transform(byte[] buffer) {
-		String[] data = new String(buffer).split(",");
-		return new SharkQuote(data[0], Double.parseDouble(data[1]));
+		int comma = 0;
+		while (comma < buffer.length && buffer[comma] != ',') {
+			comma++;
+		}
+		if (comma == buffer.length) {
+			throw new IllegalArgumentException("Not a 'lender,rate' shark event: "
+					+ new String(buffer, StandardCharsets.UTF_8));
+		}
+		return new SharkQuote(new String(buffer, 0, comma, StandardCharsets.UTF_8),
+				Double.parseDouble(new String(buffer, comma + 1, buffer.length - comma - 1, StandardCharsets.US_ASCII)));
 	}
 }
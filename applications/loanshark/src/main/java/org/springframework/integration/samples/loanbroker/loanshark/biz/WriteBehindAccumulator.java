@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.loanbroker.loanshark.biz;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.integration.samples.loanbroker.loanshark.domain.LoanShark;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * An alternative to the {@link Accumulator} which keeps the count and the sum of the rates
+ * of each shark in memory, and writes them behind to the database every
+ * {@code flushInterval} milliseconds: one query for the sharks already known, then a
+ * batch of updates and inserts, in a single transaction.
+ * <p>
+ * The quotes of a shark are accumulated in a {@link ConcurrentHashMap#compute} of its
+ * name, so they only contend with those of the sharks in the same bin of the map. A flush
+ * removes the tallies from the map before writing them and puts them back if the
+ * transaction fails, so they are written by the next flush instead.
+ * <p>
+ * Besides the periodic flushes, there is only a graceful-shutdown flush: when the context is
+ * closed, this accumulator stops after the endpoints which feed it and flushes the
+ * remaining tallies. Nothing is persisted between two flushes, so if the process is killed,
+ * up to {@code flushInterval} milliseconds of quotes are lost.
+ *
+ * @author Artem Bilan
+ */
+public class WriteBehindAccumulator implements SmartLifecycle {
+
+	private static final Log logger = LogFactory.getLog(WriteBehindAccumulator.class);
+
+	private static final int MAX_NAMES_PER_QUERY = 500;
+
+	private final Map<String, Tally> tallies = new ConcurrentHashMap<>();
+
+	private final LongAdder flushedQuotes = new LongAdder();
+
+	private final EntityManager entityManager;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private long flushInterval = 1000;
+
+	private volatile ScheduledExecutorService flusher;
+
+	public WriteBehindAccumulator(EntityManagerFactory entityManagerFactory,
+			PlatformTransactionManager transactionManager) {
+
+		this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * @param flushInterval the milliseconds between two flushes (default 1000).
+	 */
+	public void setFlushInterval(long flushInterval) {
+		this.flushInterval = flushInterval;
+	}
+
+	public void accumulate(SharkQuote quote) {
+		double rate = quote.getSharkRate();
+		this.tallies.compute(quote.getSharkName(), (name, tally) -> (tally == null ? new Tally() : tally).add(1, rate));
+	}
+
+	/**
+	 * @return the number of sharks with quotes not written yet.
+	 */
+	public int getPendingSharks() {
+		return this.tallies.size();
+	}
+
+	/**
+	 * @return the number of quotes written to the database.
+	 */
+	public long getFlushedQuotes() {
+		return this.flushedQuotes.sum();
+	}
+
+	/**
+	 * Write the quotes accumulated since the last flush to the database.
+	 */
+	public synchronized void flush() {
+		Map<String, Tally> pending = new HashMap<>();
+		for (String name : this.tallies.keySet()) {
+			Tally tally = this.tallies.remove(name);
+			if (tally != null) {
+				pending.put(name, tally);
+			}
+		}
+		if (pending.isEmpty()) {
+			return;
+		}
+		try {
+			this.transactionTemplate.executeWithoutResult(status -> write(pending));
+			long quotes = 0;
+			for (Tally tally : pending.values()) {
+				quotes += tally.count;
+			}
+			this.flushedQuotes.add(quotes);
+		}
+		catch (RuntimeException e) {
+			pending.forEach((name, tally) ->
+					this.tallies.merge(name, tally, (current, failed) -> current.add(failed.count, failed.rates)));
+			logger.error("Failed to write the quotes of " + pending.size() + " sharks; retrying with the next flush", e);
+		}
+	}
+
+	private void write(Map<String, Tally> pending) {
+		List<String> names = new ArrayList<>(pending.keySet());
+		Map<String, Tally> unknown = new HashMap<>(pending);
+		for (int i = 0; i < names.size(); i += MAX_NAMES_PER_QUERY) {
+			List<LoanShark> sharks = this.entityManager
+					.createQuery("select o from LoanShark o where o.name in :names", LoanShark.class)
+					.setParameter("names", names.subList(i, Math.min(i + MAX_NAMES_PER_QUERY, names.size())))
+					.getResultList();
+			for (LoanShark shark : sharks) {
+				Tally tally = unknown.remove(shark.getName());
+				if (tally != null) {
+					long counter = shark.getCounter() + tally.count;
+					shark.setAverageRate((shark.getCounter() * shark.getAverageRate() + tally.rates) / counter);
+					shark.setCounter(counter);
+				}
+			}
+		}
+		unknown.forEach((name, tally) -> {
+			LoanShark shark = new LoanShark();
+			shark.setName(name);
+			shark.setCounter(tally.count);
+			shark.setAverageRate(tally.rates / tally.count);
+			this.entityManager.persist(shark);
+		});
+	}
+
+	@Override
+	public synchronized void start() {
+		if (this.flusher == null) {
+			this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "shark-flusher");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.flusher.scheduleWithFixedDelay(this::flush, this.flushInterval, this.flushInterval,
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@Override
+	public void stop() {
+		ScheduledExecutorService flusher;
+		synchronized (this) {
+			flusher = this.flusher;
+			this.flusher = null;
+		}
+		if (flusher != null) {
+			flusher.shutdown();
+			try {
+				flusher.awaitTermination(this.flushInterval + 10_000, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		flush();
+		if (!this.tallies.isEmpty()) {
+			logger.error("The quotes of " + this.tallies.size() + " sharks could not be written: " + this.tallies);
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.flusher != null;
+	}
+
+	/**
+	 * Start before and stop after the endpoints, which are in phase 0, and the inbound
+	 * channel adapters.
+	 */
+	@Override
+	public int getPhase() {
+		return Integer.MIN_VALUE / 2;
+	}
+
+	/**
+	 * The quotes of a shark since the last flush; only accessed within the
+	 * {@link ConcurrentHashMap} methods, or once removed from the map.
+	 */
+	private static final class Tally {
+
+		private long count;
+
+		private double rates;
+
+		Tally add(long count, double rates) {
+			this.count += count;
+			this.rates += rates;
+			return this;
+		}
+
+		@Override
+		public String toString() {
+			return "{count=" + this.count + ", rates=" + this.rates + "}";
+		}
+
+	}
+
+}
@@ -15,9 +15,13 @@
  */
 package org.springframework.integration.samples.loanbroker.loanshark.domain;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.beans.factory.annotation.Configurable;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,13 +35,24 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
 import jakarta.persistence.Query;
 import jakarta.persistence.Version;
 
+/**
+ * @author Artem Bilan
+ */
 @Configurable
 @Entity
 public class LoanShark {
 
+	private static final long COUNT_TIME_TO_LIVE = TimeUnit.SECONDS.toNanos(10);
+
+	private static final AtomicLong countGeneration = new AtomicLong();
+
+	private static volatile CachedCount cachedCount;
+
 	private String name;
 
 	private Long counter;
@@ -56,6 +71,38 @@ public class LoanShark {
 		return new JSONSerializer().exclude("*.class").serialize(collection);
 	}
 
+	/**
+	 * Write all the sharks as the JSON array of {@link #toJsonArray(Collection)}, reading
+	 * them {@code fetchSize} at a time in the order of their ids, so that only one page of
+	 * sharks is in memory at once: each shark is detached once written, in case the entity
+	 * manager outlives the method (e.g. with the {@code OpenEntityManagerInViewFilter}).
+	 * @param writer the writer of the JSON array; flushed after each page.
+	 * @param fetchSize the number of sharks read per query.
+	 * @throws IOException if the writer fails.
+	 */
+	public static void writeJsonArray(Writer writer, int fetchSize) throws IOException {
+		JSONSerializer serializer = new JSONSerializer().exclude("*.class");
+		writer.write('[');
+		Long lastId = null;
+		EntityManager em = entityManager();
+		List<LoanShark> entries;
+		do {
+			entries = findLoanSharkEntriesAfter(lastId, fetchSize);
+			for (LoanShark loanShark : entries) {
+				if (lastId != null) {
+					writer.write(',');
+				}
+				serializer.serialize(loanShark, writer);
+				lastId = loanShark.getId();
+				em.detach(loanShark);
+			}
+			writer.flush();
+		}
+		while (entries.size() == fetchSize);
+		writer.write(']');
+		writer.flush();
+	}
+
 	public static Collection<LoanShark> fromJsonArrayToLoanSharks(String json) {
 		return new JSONDeserializer<List<LoanShark>>().use(null, ArrayList.class).use("values", LoanShark.class).deserialize(json);
 	}
@@ -139,6 +186,29 @@ public class LoanShark {
 		return ((Number) entityManager().createQuery("select count(o) from LoanShark o").getSingleResult()).longValue();
 	}
 
+	/**
+	 * The number of sharks, counted again only after a shark is persisted or removed, or
+	 * 10 seconds after the last count (a rolled back persist is not seen before).
+	 * @return the approximate number of sharks.
+	 */
+	public static long countLoanSharksCached() {
+		long generation = countGeneration.get();
+		CachedCount cached = cachedCount;
+		if (cached != null && cached.generation() == generation
+				&& System.nanoTime() - cached.countedAt() < COUNT_TIME_TO_LIVE) {
+			return cached.count();
+		}
+		long count = countLoanSharks();
+		cachedCount = new CachedCount(generation, count, System.nanoTime());
+		return count;
+	}
+
+	@PostPersist
+	@PostRemove
+	void invalidateCount() {
+		countGeneration.incrementAndGet();
+	}
+
 	@SuppressWarnings("unchecked")
 	public static List<LoanShark> findAllLoanSharks() {
 		return entityManager().createQuery("select o from LoanShark o").getResultList();
@@ -154,6 +224,21 @@ public class LoanShark {
 		return entityManager().createQuery("select o from LoanShark o").setFirstResult(firstResult).setMaxResults(maxResults).getResultList();
 	}
 
+	/**
+	 * Find a page of sharks by seeking past the last id of the previous page, rather than
+	 * skipping all the rows before the page.
+	 * @param lastId the id of the last shark of the previous page, or null for the first page.
+	 * @param maxResults the size of the page.
+	 * @return the sharks with an id greater than {@code lastId}, in the order of their ids.
+	 */
+	public static List<LoanShark> findLoanSharkEntriesAfter(Long lastId, int maxResults) {
+		return entityManager()
+				.createQuery("select o from LoanShark o where o.id > :lastId order by o.id", LoanShark.class)
+				.setParameter("lastId", lastId == null ? Long.MIN_VALUE : lastId)
+				.setMaxResults(maxResults)
+				.getResultList();
+	}
+
 	public String getName() {
 		return this.name;
 	}
@@ -197,4 +282,8 @@ public class LoanShark {
 		sb.append("AverageRate: ").append(getAverageRate());
 		return sb.toString();
 	}
+
+	private record CachedCount(long generation, long count, long countedAt) {
+	}
+
 }
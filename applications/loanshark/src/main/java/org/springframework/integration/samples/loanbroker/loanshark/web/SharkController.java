@@ -15,9 +15,13 @@
  */
 package org.springframework.integration.samples.loanbroker.loanshark.web;
 
+import java.io.IOException;
+import java.util.List;
+
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.integration.samples.loanbroker.loanshark.domain.LoanShark;
 import org.springframework.stereotype.Controller;
@@ -32,8 +36,12 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+/**
+ * @author Artem Bilan
+ */
 @RequestMapping("/loansharks")
 @Controller
 public class SharkController {
@@ -61,16 +69,26 @@ public class SharkController {
 		return "loansharks/show";
 	}
 
+	/**
+	 * List a page of sharks: the page after the shark with the {@code after} id (keyset
+	 * pagination), or the {@code page}-th page, or the first page without either.
+	 */
 	@RequestMapping(method = RequestMethod.GET)
-	public String list(@RequestParam(value = "page", required = false) Integer page, @RequestParam(value = "size", required = false) Integer size, Model model) {
-		if (page != null || size != null) {
-			int sizeNo = size == null ? 10 : size.intValue();
-			model.addAttribute("loansharks", LoanShark.findLoanSharkEntries(page == null ? 0 : (page.intValue() - 1) * sizeNo, sizeNo));
-			float nrOfPages = (float) LoanShark.countLoanSharks() / sizeNo;
-			model.addAttribute("maxPages", (int) ((nrOfPages > (int) nrOfPages || nrOfPages == 0.0) ? nrOfPages + 1 : nrOfPages));
+	public String list(@RequestParam(value = "page", required = false) Integer page, @RequestParam(value = "size", required = false) Integer size,
+			@RequestParam(value = "after", required = false) Long after, Model model) {
+		int sizeNo = size == null ? 10 : size.intValue();
+		List<LoanShark> loansharks;
+		if (page != null && after == null) {
+			loansharks = LoanShark.findLoanSharkEntries((page.intValue() - 1) * sizeNo, sizeNo);
 		} else {
-			model.addAttribute("loansharks", LoanShark.findAllLoanSharks());
+			loansharks = LoanShark.findLoanSharkEntriesAfter(after, sizeNo);
 		}
+		model.addAttribute("loansharks", loansharks);
+		if (loansharks.size() == sizeNo) {
+			model.addAttribute("nextAfter", loansharks.get(sizeNo - 1).getId());
+		}
+		float nrOfPages = (float) LoanShark.countLoanSharksCached() / sizeNo;
+		model.addAttribute("maxPages", (int) ((nrOfPages > (int) nrOfPages || nrOfPages == 0.0) ? nrOfPages + 1 : nrOfPages));
 		return "loansharks/list";
 	}
 
@@ -138,9 +156,10 @@ public class SharkController {
 	}
 
 	@RequestMapping(headers = "Accept=application/json")
-	@ResponseBody
-	public String listJson() {
-		return LoanShark.toJsonArray(LoanShark.findAllLoanSharks());
+	public void listJson(HttpServletResponse response) throws IOException {
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding("UTF-8");
+		LoanShark.writeJsonArray(response.getWriter(), 500);
 	}
 
 	@RequestMapping(value = "/jsonArray", method = RequestMethod.POST, headers = "Accept=application/json")
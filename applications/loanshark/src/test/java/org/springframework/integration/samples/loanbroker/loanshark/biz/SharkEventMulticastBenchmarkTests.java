@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.loanbroker.loanshark.biz;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToIntFunction;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.samples.loanbroker.domain.LoanQuote;
+import org.springframework.integration.samples.loanbroker.shark.SharkDetector;
+import org.springframework.integration.samples.loanbroker.shark.SharkEventEncoder;
+import org.springframework.integration.support.MessageBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks the shark events sent by the loan broker ({@link SharkDetector} and
+ * {@link SharkEventEncoder}) against the {@link SharkEventSplitter} and the
+ * {@link SharkTransformer} that receive them, and, as a benchmark, compares the shark
+ * events received per second over loopback multicast when each event is sent as a
+ * {@code lender,rate} text datagram and when the events are sent in batches.
+ *
+ * @author Artem Bilan
+ */
+public class SharkEventMulticastBenchmarkTests {
+
+	private static final Log LOGGER = LogFactory.getLog(SharkEventMulticastBenchmarkTests.class);
+
+	private static final int EVENTS = 200_000;
+
+	private static final int BATCH_SIZE = 32;
+
+	private static final int PORT = 11113;
+
+	private final SharkEventSplitter splitter = new SharkEventSplitter();
+
+	private final SharkTransformer transformer = new SharkTransformer();
+
+	@Test
+	public void testDetectorEncoderAndSplitter() {
+		SharkDetector detector = new SharkDetector();
+		assertThat(detector.accept(MessageBuilder.withPayload(quote("bank", 5.3f)).build())).isTrue();
+		assertThat(detector.accept(MessageBuilder.withPayload(quote("bank", 5.1f)).build())).isFalse();
+
+		List<LoanQuote> quotes = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			quotes.add(quote("lender-" + i, 5.0f + i / 100f));
+		}
+		List<byte[]> datagrams = encode(quotes, 512);
+
+		List<SharkQuote> decoded = new ArrayList<>();
+		for (byte[] datagram : datagrams) {
+			assertThat(datagram.length).isLessThanOrEqualTo(512);
+			decoded.addAll(this.splitter.decode(datagram));
+		}
+		assertThat(datagrams.size()).isGreaterThan(1);
+		assertThat(decoded).extracting(SharkQuote::getSharkName).containsExactlyElementsOf(
+				quotes.stream().map(LoanQuote::getLender).toList());
+		assertThat(decoded).extracting(SharkQuote::getSharkRate).containsExactlyElementsOf(
+				quotes.stream().map(quote -> (double) quote.getRate()).toList());
+	}
+
+	@Test
+	public void testLongNamesAreTruncatedOnACharacterBoundary() {
+		// 127 two-byte characters and a three-byte one straddling the 255 bytes limit
+		String name = "\u00e9".repeat(127) + "\u20ac";
+		List<byte[]> datagrams = encode(List.of(quote(name, 5.5f)), 1400);
+
+		List<SharkQuote> decoded = this.splitter.decode(datagrams.get(0));
+		assertThat(decoded).hasSize(1);
+		assertThat(decoded.get(0).getSharkName()).isEqualTo("\u00e9".repeat(127));
+		assertThat(decoded.get(0).getSharkRate()).isEqualTo(5.5d);
+	}
+
+	@Test
+	public void testMalformedEventsAreRejected() {
+		assertThat(this.transformer.transform("bank,5.25".getBytes(StandardCharsets.UTF_8)).getSharkRate())
+				.isEqualTo(5.25d);
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.transformer.transform("no comma".getBytes(StandardCharsets.UTF_8)));
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.transformer.transform(new byte[0]));
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.splitter.decode(new byte[] { SharkEventEncoder.VERSION, 2, 0, 0 }));
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void eventsPerSecond() throws Exception {
+		NetworkInterface loopback = NetworkInterface.getByInetAddress(InetAddress.getLoopbackAddress());
+		assumeTrue(loopback != null && loopback.supportsMulticast(), "No multicast on the loopback interface");
+
+		List<LoanQuote> quotes = new ArrayList<>(EVENTS);
+		for (int i = 0; i < EVENTS; i++) {
+			quotes.add(quote("bank-" + (i % 50), 5.2f + (i % 100) / 100f));
+		}
+		List<byte[]> textDatagrams = new ArrayList<>(EVENTS);
+		for (LoanQuote quote : quotes) {
+			textDatagrams.add((quote.getLender() + ',' + quote.getRate()).getBytes(StandardCharsets.UTF_8));
+		}
+		List<byte[]> batchDatagrams = new ArrayList<>();
+		for (int i = 0; i < EVENTS; i += BATCH_SIZE) {
+			batchDatagrams.addAll(encode(quotes.subList(i, Math.min(i + BATCH_SIZE, EVENTS)), 1400));
+		}
+
+		for (int round = 1; round <= 3; round++) {
+			double text = eventsPerSecond(loopback, textDatagrams,
+					datagram -> this.transformer.transform(payload(datagram)).getSharkRate() > 0 ? 1 : 0);
+			double batched = eventsPerSecond(loopback, batchDatagrams,
+					datagram -> this.splitter.decode(payload(datagram)).size());
+			LOGGER.info(String.format("Round %d: one text datagram per event %,.0f events/sec, "
+					+ "%d events per binary datagram %,.0f events/sec", round, text, BATCH_SIZE, batched));
+		}
+	}
+
+	private static double eventsPerSecond(NetworkInterface loopback, List<byte[]> datagrams,
+			ToIntFunction<DatagramPacket> receiver) throws Exception {
+
+		InetAddress group = InetAddress.getByName("225.6.7.8");
+		try (MulticastSocket in = new MulticastSocket(PORT); MulticastSocket out = new MulticastSocket()) {
+			in.setReceiveBufferSize(4 * 1024 * 1024);
+			in.setSoTimeout(500);
+			try {
+				in.joinGroup(new InetSocketAddress(group, PORT), loopback);
+			}
+			catch (IOException e) {
+				assumeTrue(false, "Cannot join a multicast group on the loopback interface: " + e);
+			}
+			out.setNetworkInterface(loopback);
+			out.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+
+			long start = System.nanoTime();
+			CompletableFuture<long[]> received = CompletableFuture.supplyAsync(() -> {
+				DatagramPacket packet = new DatagramPacket(new byte[2048], 2048);
+				long events = 0;
+				long last = start;
+				try {
+					while (true) {
+						in.receive(packet);
+						events += receiver.applyAsInt(packet);
+						last = System.nanoTime();
+					}
+				}
+				catch (SocketTimeoutException e) {
+					return new long[] { events, last };
+				}
+				catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+			for (byte[] datagram : datagrams) {
+				out.send(new DatagramPacket(datagram, datagram.length, group, PORT));
+			}
+			long[] result = received.get();
+			LOGGER.info(String.format("  %,d datagrams sent, %,d of %,d events received", datagrams.size(),
+					result[0], EVENTS));
+			return result[0] * 1_000_000_000d / (result[1] - start);
+		}
+	}
+
+	/**
+	 * The payload of the received datagram, as copied by the UDP inbound adapter.
+	 */
+	private static byte[] payload(DatagramPacket datagram) {
+		return Arrays.copyOfRange(datagram.getData(), datagram.getOffset(),
+				datagram.getOffset() + datagram.getLength());
+	}
+
+	private static List<byte[]> encode(List<LoanQuote> quotes, int maxDatagramSize) {
+		SharkEventEncoder encoder = new SharkEventEncoder();
+		encoder.setMaxDatagramSize(maxDatagramSize);
+		return encoder.encode(quotes);
+	}
+
+	private static LoanQuote quote(String lender, float rate) {
+		LoanQuote quote = new LoanQuote();
+		quote.setLender(lender);
+		quote.setRate(rate);
+		return quote;
+	}
+
+}
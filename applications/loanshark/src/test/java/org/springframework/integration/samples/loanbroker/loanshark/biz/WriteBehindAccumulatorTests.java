@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.loanbroker.loanshark.biz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.integration.samples.loanbroker.loanshark.domain.LoanShark;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for the {@link WriteBehindAccumulator} with an embedded database, and a benchmark comparing
+ * its quotes per second with those of a transaction per quote, as in the
+ * {@link Accumulator}.
+ *
+ * @author Artem Bilan
+ */
+@SpringJUnitConfig
+@DirtiesContext
+public class WriteBehindAccumulatorTests {
+
+	private static final Log LOGGER = LogFactory.getLog(WriteBehindAccumulatorTests.class);
+
+	private static final int SHARKS = 100;
+
+	private static final int THREADS = 4;
+
+	@Autowired
+	private WriteBehindAccumulator accumulator;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	public void testWriteBehind() {
+		this.accumulator.accumulate(new SharkQuote("fred", 6.0d));
+		this.accumulator.accumulate(new SharkQuote("fred", 6.2d));
+		assertThat(this.accumulator.getPendingSharks()).isEqualTo(1);
+		this.accumulator.flush();
+		assertThat(this.accumulator.getPendingSharks()).isZero();
+		LoanShark shark = find("fred");
+		assertThat(shark.getCounter()).isEqualTo(2);
+		assertThat(shark.getAverageRate()).isCloseTo(6.1, within(1e-9));
+
+		this.accumulator.accumulate(new SharkQuote("fred", 6.4d));
+		this.accumulator.flush();
+		shark = find("fred");
+		assertThat(shark.getCounter()).isEqualTo(3);
+		assertThat(shark.getAverageRate()).isCloseTo(6.2, within(1e-9));
+	}
+
+	@Test
+	public void testStopFlushes() {
+		this.accumulator.accumulate(new SharkQuote("barney", 7.0d));
+		this.accumulator.stop();
+		try {
+			assertThat(this.accumulator.isRunning()).isFalse();
+			assertThat(find("barney").getCounter()).isEqualTo(1);
+		}
+		finally {
+			this.accumulator.start();
+		}
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void quotesPerSecond() throws Exception {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+		EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(this.entityManagerFactory);
+		for (int round = 1; round <= 3; round++) {
+			String perQuote = "per-quote-" + round + "-";
+			double transactional = quotesPerSecond(1, 5_000, perQuote, quote ->
+					transactionTemplate.executeWithoutResult(status -> accumulate(entityManager, quote)));
+
+			String writeBehind = "write-behind-" + round + "-";
+			long flushed = this.accumulator.getFlushedQuotes();
+			double behind = quotesPerSecond(THREADS, 500_000, writeBehind, quote -> this.accumulator.accumulate(quote));
+			assertThat(this.accumulator.getFlushedQuotes() - flushed).isEqualTo(500_000);
+			assertThat(countQuotes(entityManager, perQuote)).isEqualTo(5_000);
+			assertThat(countQuotes(entityManager, writeBehind)).isEqualTo(500_000);
+
+			LOGGER.info(String.format("Round %d, %d sharks: transaction per quote %,.0f quotes/sec, "
+					+ "write-behind from %d threads %,.0f quotes/sec", round, SHARKS, transactional, THREADS, behind));
+		}
+	}
+
+	/**
+	 * The transactions per quote are sent from a single thread, since concurrent updates of
+	 * a shark fail its optimistic lock.
+	 */
+	private double quotesPerSecond(int threads, int quotes, String prefix, Consumer<SharkQuote> consumer)
+			throws Exception {
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<?>> results = new ArrayList<>();
+		long start = System.nanoTime();
+		for (int i = 0; i < threads; i++) {
+			int thread = i;
+			results.add(executor.submit(() -> {
+				for (int j = thread; j < quotes; j += threads) {
+					consumer.accept(new SharkQuote(prefix + (j % SHARKS), 5.2d + (j % 10) / 10d));
+				}
+			}));
+		}
+		for (Future<?> result : results) {
+			result.get(5, TimeUnit.MINUTES);
+		}
+		this.accumulator.flush();
+		long elapsed = System.nanoTime() - start;
+		executor.shutdown();
+		return quotes * 1_000_000_000d / elapsed;
+	}
+
+	private LoanShark find(String name) {
+		EntityManager entityManager = this.entityManagerFactory.createEntityManager();
+		try {
+			return entityManager.createQuery("select o from LoanShark o where o.name = :name", LoanShark.class)
+					.setParameter("name", name)
+					.getSingleResult();
+		}
+		finally {
+			entityManager.close();
+		}
+	}
+
+	private static long countQuotes(EntityManager entityManager, String prefix) {
+		return entityManager.createQuery("select sum(o.counter) from LoanShark o where o.name like :prefix",
+						Long.class)
+				.setParameter("prefix", prefix + "%")
+				.getSingleResult();
+	}
+
+	/**
+	 * The logic of the {@link Accumulator}, without the {@code @Configurable} entity methods.
+	 */
+	private static void accumulate(EntityManager entityManager, SharkQuote quote) {
+		List<LoanShark> sharks = entityManager
+				.createQuery("select o from LoanShark o where o.name = :name", LoanShark.class)
+				.setParameter("name", quote.getSharkName())
+				.getResultList();
+		LoanShark shark;
+		if (sharks.isEmpty()) {
+			shark = new LoanShark();
+			shark.setName(quote.getSharkName());
+			shark.setCounter(0L);
+			shark.setAverageRate(0.0d);
+			entityManager.persist(shark);
+		}
+		else {
+			shark = sharks.get(0);
+		}
+		double current = shark.getCounter() * shark.getAverageRate();
+		shark.setCounter(shark.getCounter() + 1);
+		shark.setAverageRate((current + quote.getSharkRate()) / shark.getCounter());
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.jdbc.domain;
+
+import java.sql.Types;
+
+import org.springframework.integration.jdbc.SqlParameterSourceFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.messaging.Message;
+
+/**
+ * Extracts the {@code name} (in upper case), {@code gender} and {@code dateOfBirth}
+ * parameters of the insert of a {@link Person}, given as is or as the payload of a
+ * {@link Message}; the Java equivalent of an {@code ExpressionEvaluatingSqlParameterSourceFactory}
+ * with {@code payload.name.toUpperCase()}, {@code payload.gender.identifier} and
+ * {@code payload.dateOfBirth}.
+ *
+ * @author Artem Bilan
+ */
+public class PersonSqlParameterSourceFactory implements SqlParameterSourceFactory {
+
+	@Override
+	public SqlParameterSource createParameterSource(Object input) {
+		Person person = (Person) (input instanceof Message<?> message ? message.getPayload() : input);
+		return new MapSqlParameterSource()
+				.addValue("name", formatName(person.getName()), Types.VARCHAR)
+				.addValue("gender", person.getGender() != null ? person.getGender().getIdentifier() : null,
+						Types.VARCHAR)
+				.addValue("dateOfBirth", person.getDateOfBirth(), Types.DATE);
+	}
+
+	/**
+	 * @param name the name of a person.
+	 * @return the name as stored in the Person table.
+	 */
+	public static String formatName(String name) {
+		return name != null ? name.toUpperCase() : null;
+	}
+
+}
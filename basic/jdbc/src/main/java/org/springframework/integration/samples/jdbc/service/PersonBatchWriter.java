@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.jdbc.service;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.integration.samples.jdbc.domain.Person;
+import org.springframework.integration.samples.jdbc.domain.PersonSqlParameterSourceFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+/**
+ * Inserts a list of {@link Person}s with a single JDBC batch, and sets their generated
+ * ids from the keys returned by that batch, rather than selecting each person again.
+ *
+ * @author Artem Bilan
+ */
+public class PersonBatchWriter {
+
+	private static final String INSERT =
+			"insert into Person (name,gender,dateOfBirth) values (:name,:gender,:dateOfBirth)";
+
+	private static final String[] KEY_COLUMNS = { "ID" };
+
+	private final PersonSqlParameterSourceFactory parameterSourceFactory = new PersonSqlParameterSourceFactory();
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	public PersonBatchWriter(DataSource dataSource) {
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+	}
+
+	/**
+	 * @param people the people to insert.
+	 * @return the same people, with their generated id and formatted name.
+	 */
+	public List<Person> createPeople(List<Person> people) {
+		if (people.isEmpty()) {
+			return people;
+		}
+		SqlParameterSource[] batch = new SqlParameterSource[people.size()];
+		for (int i = 0; i < batch.length; i++) {
+			batch[i] = this.parameterSourceFactory.createParameterSource(people.get(i));
+		}
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		this.jdbcTemplate.batchUpdate(INSERT, batch, keyHolder, KEY_COLUMNS);
+		List<Map<String, Object>> keys = keyHolder.getKeyList();
+		for (int i = 0; i < people.size(); i++) {
+			Person person = people.get(i);
+			person.setPersonId(((Number) keys.get(i).values().iterator().next()).intValue());
+			person.setName(PersonSqlParameterSourceFactory.formatName(person.getName()));
+		}
+		return people;
+	}
+
+}
@@ -23,6 +23,7 @@ import org.springframework.integration.samples.jdbc.domain.Person;
 /**
  * The Service used to create Person instance in database
  * @author Amol Nayak
+ * @author Artem Bilan
  *
  */
 public interface PersonService {
@@ -35,6 +36,15 @@ public interface PersonService {
 	 */
 	Person createPerson(Person person);
 
+	/**
+	 * Creates the {@link Person} records of the {@link Person} instances passed, with a single
+	 * JDBC batch insert
+	 *
+	 * @param people the people to create, they will contain the generated primary key and the formatted name
+	 * @return the created people
+	 */
+	List<Person> createPeople(List<Person> people);
+
 	/**
 	 * Find the person by the person name, the name search is case insensitive, however the
 	 * spaces are not ignored
@@ -1,5 +1,6 @@
 create table IF NOT EXISTS USERS(USERNAME varchar(100),PASSWORD varchar(100), EMAIL varchar(100));
-create table IF NOT EXISTS Person(id int auto_increment primary key , name varchar(100), gender varchar(1), dateOfBirth date);
+create table IF NOT EXISTS Person(id int auto_increment primary key , name varchar(100), gender varchar(1), dateOfBirth date, normalizedName varchar(100) generated always as (lower(name)));
+create index IF NOT EXISTS Person_normalizedName on Person(normalizedName);
 INSERT INTO USERS(USERNAME, PASSWORD, EMAIL) VALUES ('a', 'secret', 'spring-integration@awesome.com');
 INSERT INTO USERS(USERNAME, PASSWORD, EMAIL) VALUES ('b', 's3cr3t', 'spring@rocks.com');
 INSERT INTO USERS(USERNAME, PASSWORD, EMAIL) VALUES ('foo', 'bar', 'foo@bar.de');
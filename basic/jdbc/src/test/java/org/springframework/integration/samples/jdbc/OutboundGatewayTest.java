@@ -15,16 +15,22 @@
  */
 package org.springframework.integration.samples.jdbc;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
+
+import javax.sql.DataSource;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 import org.springframework.integration.samples.jdbc.domain.Gender;
 import org.springframework.integration.samples.jdbc.domain.Person;
 import org.springframework.integration.samples.jdbc.service.PersonService;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -32,6 +38,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * The test class for jdbc outbound gateway
  * @author Amol Nayak
  * @author Gary Russell
+ * @author Artem Bilan
  *
  */
 public class OutboundGatewayTest {
@@ -56,4 +63,69 @@ public class OutboundGatewayTest {
 		context.close();
 	}
 
+	@Test
+	public void insertPeopleInBatch() {
+		ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext(
+				"/META-INF/spring/integration/spring-integration-context.xml");
+		PersonService service = context.getBean(PersonService.class);
+		List<Person> people = service.createPeople(people("Batch Person ", 3));
+		assertThat(people).extracting(Person::getName)
+				.containsExactly("BATCH PERSON 0", "BATCH PERSON 1", "BATCH PERSON 2");
+		assertThat(people.get(1).getPersonId()).isEqualTo(people.get(0).getPersonId() + 1);
+
+		List<Person> found = service.findPersonByName("batch person 1");
+		assertThat(found).hasSize(1);
+		assertThat(found.get(0).getPersonId()).isEqualTo(people.get(1).getPersonId());
+		assertThat(found.get(0).getGender()).isEqualTo(Gender.FEMALE);
+
+		String plan = new JdbcTemplate(context.getBean(DataSource.class))
+				.queryForObject("explain select * from Person where normalizedName=lower('batch person 1')", String.class);
+		assertThat(plan).containsIgnoringCase("PERSON_NORMALIZEDNAME");
+		context.close();
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void rowsPerSecond() {
+		ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext(
+				"/META-INF/spring/integration/spring-integration-context.xml");
+		PersonService service = context.getBean(PersonService.class);
+		int rows = 20_000;
+		int batchSize = 1000;
+		for (int round = 1; round <= 3; round++) {
+			List<Person> people = people("Single " + round + " ", rows);
+			long start = System.nanoTime();
+			for (Person person : people) {
+				service.createPerson(person);
+			}
+			long single = System.nanoTime() - start;
+
+			people = people("Batch " + round + " ", rows);
+			start = System.nanoTime();
+			for (int i = 0; i < rows; i += batchSize) {
+				service.createPeople(people.subList(i, i + batchSize));
+			}
+			long batched = System.nanoTime() - start;
+			assertThat(people.get(rows - 1).getPersonId()).isPositive();
+
+			logger.info(String.format("Round %d: createPerson %,.0f rows/sec, createPeople(%d) %,.0f rows/sec",
+					round, rows * 1_000_000_000d / single, batchSize, rows * 1_000_000_000d / batched));
+		}
+		context.close();
+	}
+
+	private static List<Person> people(String namePrefix, int count) {
+		Calendar dateOfBirth = Calendar.getInstance();
+		dateOfBirth.set(1980, Calendar.JANUARY, 1);
+		List<Person> people = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Person person = new Person();
+			person.setName(namePrefix + i);
+			person.setGender(i % 2 == 0 ? Gender.MALE : Gender.FEMALE);
+			person.setDateOfBirth(dateOfBirth.getTime());
+			people.add(person);
+		}
+		return people;
+	}
+
 }
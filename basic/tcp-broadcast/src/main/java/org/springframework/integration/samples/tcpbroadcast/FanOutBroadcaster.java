@@ -0,0 +1,364 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.tcpbroadcast;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.integration.ip.tcp.connection.TcpConnection;
+import org.springframework.integration.ip.tcp.connection.TcpConnectionCloseEvent;
+import org.springframework.integration.ip.tcp.connection.TcpConnectionOpenEvent;
+import org.springframework.integration.ip.tcp.serializer.ByteArrayCrLfSerializer;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * A {@link TcpBroadcastApplication.Broadcaster} for large numbers of clients, enabled with
+ * {@code broadcast.fan-out.enabled=true} (which also switches the server to NIO).
+ * <p>
+ * Rather than invoking the gateway once per connection, the payload is framed once and the
+ * same (never mutated) byte array is handed to a small pool of writer threads; each
+ * connection has its own queue, drained by at most one writer at a time, so a broadcast
+ * returns as soon as the frame is queued. A connection with more than
+ * {@code broadcast.fan-out.max-backlog} frames queued is a slow consumer: the frame is
+ * skipped for it and, unless {@code broadcast.fan-out.drop-slow-consumers=false}, the
+ * connection is closed.
+ * <p>
+ * The frame is sent as a {@link Frame}, which the {@link PreFramedCrLfSerializer} of the
+ * server writes as-is. Frames still queued for a connection when it closes are discarded.
+ * <p>
+ * Fan-out latency (until the frame was written to, skipped or discarded for every
+ * connection, for the broadcasts written to at least one connection) and the skipped
+ * frame, discarded frame and dropped client counts are available at
+ * {@code /broadcast/stats}.
+ *
+ * @author Artem Bilan
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "broadcast.fan-out.enabled", havingValue = "true")
+public class FanOutBroadcaster extends TcpBroadcastApplication.Broadcaster implements DisposableBean {
+
+	private static final Log LOGGER = LogFactory.getLog(FanOutBroadcaster.class);
+
+	private final ByteArrayCrLfSerializer serializer = new ByteArrayCrLfSerializer();
+
+	private final Map<String, ConnectionWriter> writers = new ConcurrentHashMap<>();
+
+	private final ThreadPoolTaskExecutor writerPool = new ThreadPoolTaskExecutor();
+
+	private final int maxBacklog;
+
+	private final boolean dropSlowConsumers;
+
+	private final LongAdder broadcasts = new LongAdder();
+
+	private final LongAdder totalLatency = new LongAdder();
+
+	private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+	private final LongAdder skippedFrames = new LongAdder();
+
+	private final LongAdder discardedFrames = new LongAdder();
+
+	private final LongAdder droppedClients = new LongAdder();
+
+	private volatile long lastLatency;
+
+	public FanOutBroadcaster(@Value("${broadcast.fan-out.writer-threads:4}") int writerThreads,
+			@Value("${broadcast.fan-out.max-backlog:100}") int maxBacklog,
+			@Value("${broadcast.fan-out.drop-slow-consumers:true}") boolean dropSlowConsumers) {
+
+		this.maxBacklog = maxBacklog;
+		this.dropSlowConsumers = dropSlowConsumers;
+		this.writerPool.setCorePoolSize(writerThreads);
+		this.writerPool.setMaxPoolSize(writerThreads);
+		this.writerPool.setThreadNamePrefix("fan-out-");
+		this.writerPool.initialize();
+	}
+
+	@EventListener
+	public void connectionOpened(TcpConnectionOpenEvent event) {
+		TcpConnection connection = (TcpConnection) event.getSource();
+		if (connection.isServer()) {
+			this.writers.put(connection.getConnectionId(), new ConnectionWriter(connection));
+		}
+	}
+
+	@EventListener
+	public void connectionClosed(TcpConnectionCloseEvent event) {
+		ConnectionWriter writer = this.writers.remove(event.getConnectionId());
+		if (writer != null) {
+			writer.close();
+		}
+	}
+
+	@Override
+	public void send(String what) {
+		long start = System.nanoTime();
+		List<ConnectionWriter> targets = new ArrayList<>(this.writers.values());
+		if (targets.isEmpty()) {
+			return;
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream(what.length() + 2);
+		try {
+			this.serializer.serialize(what.getBytes(StandardCharsets.UTF_8), out);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		Broadcast broadcast = new Broadcast(MessageBuilder.withPayload(new Frame(out.toByteArray())).build(), start,
+				targets.size());
+		targets.forEach(writer -> writer.offer(broadcast));
+	}
+
+	public FanOutStats getStats() {
+		long count = this.broadcasts.sum();
+		return new FanOutStats(this.writers.size(), count,
+				this.lastLatency / 1000,
+				count == 0 ? 0 : this.totalLatency.sum() / count / 1000,
+				this.maxLatency.get() / 1000,
+				this.skippedFrames.sum(),
+				this.discardedFrames.sum(),
+				this.droppedClients.sum());
+	}
+
+	@Override
+	public void destroy() {
+		this.writerPool.shutdown();
+	}
+
+	private void slowConsumer(ConnectionWriter writer) {
+		this.skippedFrames.increment();
+		if (this.dropSlowConsumers && this.writers.remove(writer.connection.getConnectionId()) != null) {
+			LOGGER.warn("Closing slow consumer " + writer.connection.getConnectionId());
+			this.droppedClients.increment();
+			writer.connection.close();
+		}
+	}
+
+	private void completed(Broadcast broadcast) {
+		if (broadcast.written.get() == 0) {
+			return;
+		}
+		long latency = System.nanoTime() - broadcast.start;
+		this.lastLatency = latency;
+		this.broadcasts.increment();
+		this.totalLatency.add(latency);
+		this.maxLatency.accumulate(latency);
+	}
+
+	/**
+	 * Fan-out statistics; latencies are in microseconds.
+	 */
+	public record FanOutStats(int connections, long broadcasts, long lastLatencyMicros, long averageLatencyMicros,
+			long maxLatencyMicros, long skippedFrames, long discardedFrames, long droppedClients) {
+
+	}
+
+	/**
+	 * A payload that is already framed, so it is written as-is.
+	 */
+	public static final class Frame {
+
+		private final byte[] bytes;
+
+		public Frame(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		public byte[] getBytes() {
+			return this.bytes;
+		}
+
+	}
+
+	/**
+	 * A serializer that writes a {@link Frame} as-is, so a frame built once by the
+	 * {@link FanOutBroadcaster} is not re-encoded for every connection, and frames any
+	 * other {@code byte[]} with CRLF as the {@link ByteArrayCrLfSerializer} does.
+	 */
+	public static class PreFramedCrLfSerializer implements Serializer<Object> {
+
+		private final ByteArrayCrLfSerializer serializer = new ByteArrayCrLfSerializer();
+
+		@Override
+		public void serialize(Object object, OutputStream outputStream) throws IOException {
+			if (object instanceof Frame frame) {
+				outputStream.write(frame.bytes);
+			}
+			else if (object instanceof byte[] bytes) {
+				this.serializer.serialize(bytes, outputStream);
+			}
+			else {
+				throw new IllegalArgumentException("Cannot serialize a " + object.getClass().getName());
+			}
+		}
+
+	}
+
+	@RestController
+	@ConditionalOnProperty(name = "broadcast.fan-out.enabled", havingValue = "true")
+	public static class StatsController {
+
+		@Autowired
+		private FanOutBroadcaster broadcaster;
+
+		@GetMapping("/broadcast/stats")
+		public FanOutStats stats() {
+			return this.broadcaster.getStats();
+		}
+
+	}
+
+	private final class Broadcast {
+
+		private final Message<Frame> frame;
+
+		private final long start;
+
+		private final AtomicInteger remaining;
+
+		private final AtomicInteger written = new AtomicInteger();
+
+		Broadcast(Message<Frame> frame, long start, int connections) {
+			this.frame = frame;
+			this.start = start;
+			this.remaining = new AtomicInteger(connections);
+		}
+
+		void written() {
+			this.written.incrementAndGet();
+			done();
+		}
+
+		void discarded() {
+			FanOutBroadcaster.this.discardedFrames.increment();
+			done();
+		}
+
+		void done() {
+			if (this.remaining.decrementAndGet() == 0) {
+				completed(this);
+			}
+		}
+
+	}
+
+	private final class ConnectionWriter implements Runnable {
+
+		private final TcpConnection connection;
+
+		private final Queue<Broadcast> queue = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger backlog = new AtomicInteger();
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private volatile boolean closed;
+
+		ConnectionWriter(TcpConnection connection) {
+			this.connection = connection;
+		}
+
+		void offer(Broadcast broadcast) {
+			if (this.closed) {
+				broadcast.discarded();
+				return;
+			}
+			if (this.backlog.incrementAndGet() > FanOutBroadcaster.this.maxBacklog) {
+				this.backlog.decrementAndGet();
+				broadcast.done();
+				slowConsumer(this);
+				return;
+			}
+			this.queue.offer(broadcast);
+			schedule();
+		}
+
+		void close() {
+			this.closed = true;
+			schedule();
+		}
+
+		private void schedule() {
+			if (this.scheduled.compareAndSet(false, true)) {
+				try {
+					FanOutBroadcaster.this.writerPool.execute(this);
+				}
+				catch (RejectedExecutionException e) {
+					this.scheduled.set(false);
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			Broadcast broadcast;
+			while ((broadcast = this.queue.poll()) != null) {
+				this.backlog.decrementAndGet();
+				if (this.closed) {
+					broadcast.discarded();
+					continue;
+				}
+				try {
+					this.connection.send(broadcast.frame);
+					broadcast.written();
+				}
+				catch (Exception e) {
+					LOGGER.debug("Failed to send to " + this.connection.getConnectionId(), e);
+					this.closed = true;
+					broadcast.discarded();
+				}
+			}
+			this.scheduled.set(false);
+			if (!this.queue.isEmpty()) {
+				schedule();
+			}
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 the original author or authors.
+ * Copyright 2018-present the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -39,6 +40,7 @@ import org.springframework.integration.dsl.IntegrationFlow;
 import org.springframework.integration.ip.IpHeaders;
 import org.springframework.integration.ip.dsl.Tcp;
 import org.springframework.integration.ip.dsl.TcpNetServerConnectionFactorySpec;
+import org.springframework.integration.ip.dsl.TcpNioServerConnectionFactorySpec;
 import org.springframework.integration.ip.tcp.connection.AbstractServerConnectionFactory;
 import org.springframework.integration.ip.tcp.connection.TcpConnectionServerListeningEvent;
 import org.springframework.integration.ip.tcp.serializer.ByteArrayCrLfSerializer;
@@ -64,10 +66,21 @@ public class TcpBroadcastApplication {
 		 * Server connection factory.
 		 */
 		@Bean
+		@ConditionalOnProperty(name = "broadcast.fan-out.enabled", havingValue = "false", matchIfMissing = true)
 		public TcpNetServerConnectionFactorySpec serverFactory() {
 			return Tcp.netServer(PORT);
 		}
 
+		/*
+		 * NIO server connection factory for the FanOutBroadcaster.
+		 */
+		@Bean
+		@ConditionalOnProperty(name = "broadcast.fan-out.enabled", havingValue = "true")
+		public TcpNioServerConnectionFactorySpec nioServerFactory() {
+			return Tcp.nioServer(PORT)
+					.serializer(new FanOutBroadcaster.PreFramedCrLfSerializer());
+		}
+
 		/*
 		 * Inbound adapter - sends "connected!".
 		 */
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.tcpbroadcast;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.ip.tcp.connection.TcpConnectionCloseEvent;
+import org.springframework.integration.ip.tcp.connection.TcpConnectionOpenEvent;
+import org.springframework.integration.ip.tcp.connection.TcpNioServerConnectionFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the {@link FanOutBroadcaster}, with a NIO server as configured by the
+ * {@link TcpBroadcastApplication} in fan-out mode.
+ *
+ * @author Artem Bilan
+ */
+public class FanOutBroadcasterTests {
+
+	private final List<Socket> clients = new ArrayList<>();
+
+	private FanOutBroadcaster broadcaster;
+
+	private TcpNioServerConnectionFactory server;
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		for (Socket client : this.clients) {
+			client.close();
+		}
+		this.server.stop();
+		this.broadcaster.destroy();
+	}
+
+	@Test
+	public void testFanOutToAllClients() throws Exception {
+		start(100, true);
+		LongAdder received1 = new LongAdder();
+		LongAdder received2 = new LongAdder();
+		LongAdder received3 = new LongAdder();
+		connect(received1);
+		connect(received2);
+		connect(received3);
+		await(() -> this.broadcaster.getStats().connections() == 3);
+
+		for (int i = 0; i < 10; i++) {
+			this.broadcaster.send("foo");
+		}
+
+		await(() -> received1.sum() == 10 && received2.sum() == 10 && received3.sum() == 10);
+		await(() -> this.broadcaster.getStats().broadcasts() == 10);
+		FanOutBroadcaster.FanOutStats stats = this.broadcaster.getStats();
+		assertThat(stats.skippedFrames()).isZero();
+		assertThat(stats.discardedFrames()).isZero();
+		assertThat(stats.droppedClients()).isZero();
+	}
+
+	@Test
+	public void testClientDisconnectingMidBroadcast() throws Exception {
+		start(1000, false);
+		LongAdder received1 = new LongAdder();
+		LongAdder received2 = new LongAdder();
+		connect(received1);
+		connect(received2);
+		Socket quitter = new Socket();
+		quitter.setReceiveBufferSize(1024);
+		quitter.connect(this.clients.get(0).getRemoteSocketAddress());
+		this.clients.add(quitter);
+		await(() -> this.broadcaster.getStats().connections() == 3);
+
+		String payload = "x".repeat(64 * 1024);
+		for (int i = 0; i < 200; i++) {
+			this.broadcaster.send(payload);
+		}
+		// the quitter has not read anything, so most of its frames are still queued
+		quitter.close();
+
+		await(() -> received1.sum() == 200 && received2.sum() == 200);
+		await(() -> this.broadcaster.getStats().broadcasts() == 200);
+		await(() -> this.broadcaster.getStats().connections() == 2);
+		FanOutBroadcaster.FanOutStats stats = this.broadcaster.getStats();
+		assertThat(stats.discardedFrames()).isPositive();
+		assertThat(stats.skippedFrames()).isZero();
+		assertThat(stats.droppedClients()).isZero();
+	}
+
+	private void start(int maxBacklog, boolean dropSlowConsumers) throws InterruptedException {
+		this.broadcaster = new FanOutBroadcaster(4, maxBacklog, dropSlowConsumers);
+		this.server = new TcpNioServerConnectionFactory(0);
+		this.server.setSerializer(new FanOutBroadcaster.PreFramedCrLfSerializer());
+		this.server.registerListener(message -> false);
+		this.server.setApplicationEventPublisher(event -> {
+			if (event instanceof TcpConnectionOpenEvent openEvent) {
+				this.broadcaster.connectionOpened(openEvent);
+			}
+			else if (event instanceof TcpConnectionCloseEvent closeEvent) {
+				this.broadcaster.connectionClosed(closeEvent);
+			}
+		});
+		this.server.start();
+		await(this.server::isListening);
+	}
+
+	/**
+	 * Connect to the server and count the lines received, on a new thread.
+	 */
+	private void connect(LongAdder received) throws IOException {
+		Socket socket = new Socket("localhost", this.server.getPort());
+		this.clients.add(socket);
+		Thread thread = new Thread(() -> {
+			try {
+				BufferedReader reader =
+						new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+				while (reader.readLine() != null) {
+					received.increment();
+				}
+			}
+			catch (IOException e) {
+				// closed
+			}
+		});
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		for (int i = 0; i < 1000 && !condition.getAsBoolean(); i++) {
+			Thread.sleep(10);
+		}
+		assertThat(condition.getAsBoolean()).isTrue();
+	}
+
+}
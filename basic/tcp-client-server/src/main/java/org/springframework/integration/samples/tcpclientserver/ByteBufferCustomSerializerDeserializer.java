@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.tcpclientserver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+
+/**
+ * A bulk-reading variant of {@link CustomSerializerDeserializer} using the same wire
+ * format: a 3 digit order number, a 10 byte sender name, a 6 digit left-zero-padded
+ * message length and then the message itself.
+ *
+ * Instead of reading the stream one byte at a time into a {@link StringBuilder}, the
+ * fixed-width header is read in a single bulk operation into a {@link ByteBuffer} and the
+ * numeric fields are decoded directly from the ASCII digits, without any intermediate
+ * {@link String}. On the way out the whole frame is assembled in one buffer and written
+ * with a single {@link OutputStream#write(byte[], int, int)} call.
+ *
+ * The buffers are reused: since a connection is always read (and written) by one thread
+ * at a time, they are held per thread, which in practice means per connection. Only
+ * buffers of up to 64 KB are kept; larger messages use a buffer of their own.
+ *
+ * As the message length is the number of bytes, the sender name and the message must
+ * only contain ISO-8859-1 characters.
+ *
+ * @author Artem Bilan
+ */
+public class ByteBufferCustomSerializerDeserializer implements Serializer<CustomOrder>, Deserializer<CustomOrder> {
+
+	private static final Log LOGGER = LogFactory.getLog(ByteBufferCustomSerializerDeserializer.class);
+
+	private static final int ORDER_NUMBER_LENGTH = 3;
+
+	private static final int SENDER_NAME_LENGTH = 10;
+
+	private static final int MESSAGE_LENGTH_LENGTH = 6;
+
+	private static final int HEADER_LENGTH = ORDER_NUMBER_LENGTH + SENDER_NAME_LENGTH + MESSAGE_LENGTH_LENGTH;
+
+	private static final int MAX_MESSAGE_LENGTH = 999_999;
+
+	private static final int INITIAL_BUFFER_SIZE = 1024;
+
+	private static final int MAX_CACHED_BUFFER_SIZE = 64 * 1024;
+
+	private final ThreadLocal<ByteBuffer> buffers =
+			ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_BUFFER_SIZE));
+
+	/**
+	 * Convert a CustomOrder object into a byte-stream
+	 *
+	 * @param object the order to write
+	 * @param outputStream the stream to write to
+	 * @throws IOException if the stream cannot be written to
+	 */
+	@Override
+	public void serialize(CustomOrder object, OutputStream outputStream) throws IOException {
+		String sender = object.getSender();
+		String message = object.getMessage() != null ? object.getMessage() : "";
+		if (sender.length() > SENDER_NAME_LENGTH) {
+			throw new IllegalArgumentException("Sender name must not be longer than " + SENDER_NAME_LENGTH
+					+ " characters: " + sender);
+		}
+		if (message.length() > MAX_MESSAGE_LENGTH) {
+			throw new IllegalArgumentException("Message must not be longer than " + MAX_MESSAGE_LENGTH
+					+ " characters");
+		}
+
+		ByteBuffer buffer = obtainBuffer(HEADER_LENGTH + message.length());
+		putDigits(buffer, object.getNumber(), ORDER_NUMBER_LENGTH);
+		putLatin1(buffer, sender);
+		for (int i = sender.length(); i < SENDER_NAME_LENGTH; i++) {
+			buffer.put((byte) ' ');
+		}
+		putDigits(buffer, message.length(), MESSAGE_LENGTH_LENGTH);
+		putLatin1(buffer, message);
+
+		outputStream.write(buffer.array(), 0, buffer.position());
+		outputStream.flush();
+	}
+
+	/**
+	 * Convert a raw byte stream into a CustomOrder
+	 *
+	 * @param inputStream the stream to read from
+	 * @return the order
+	 * @throws IOException if the socket is closed during message assembly
+	 */
+	@Override
+	public CustomOrder deserialize(InputStream inputStream) throws IOException {
+		ByteBuffer buffer = obtainBuffer(HEADER_LENGTH);
+		byte[] bytes = buffer.array();
+		readFully(inputStream, bytes, HEADER_LENGTH);
+
+		int orderNumber = parseDigits(bytes, 0, ORDER_NUMBER_LENGTH);
+		String senderName = new String(bytes, ORDER_NUMBER_LENGTH, SENDER_NAME_LENGTH, StandardCharsets.ISO_8859_1);
+		int lengthOfMessage = parseDigits(bytes, ORDER_NUMBER_LENGTH + SENDER_NAME_LENGTH, MESSAGE_LENGTH_LENGTH);
+
+		buffer = obtainBuffer(lengthOfMessage);
+		bytes = buffer.array();
+		readFully(inputStream, bytes, lengthOfMessage);
+
+		CustomOrder order = new CustomOrder(orderNumber, senderName);
+		order.setMessage(new String(bytes, 0, lengthOfMessage, StandardCharsets.ISO_8859_1));
+		return order;
+	}
+
+	private ByteBuffer obtainBuffer(int capacity) {
+		if (capacity > MAX_CACHED_BUFFER_SIZE) {
+			return ByteBuffer.allocate(capacity);
+		}
+		ByteBuffer buffer = this.buffers.get();
+		if (buffer.capacity() < capacity) {
+			buffer = ByteBuffer.allocate(Math.min(Math.max(capacity, buffer.capacity() * 2), MAX_CACHED_BUFFER_SIZE));
+			this.buffers.set(buffer);
+		}
+		buffer.clear();
+		return buffer;
+	}
+
+	private static void readFully(InputStream inputStream, byte[] bytes, int length) throws IOException {
+		int offset = 0;
+		while (offset < length) {
+			int read = inputStream.read(bytes, offset, length - offset);
+			if (read < 0) {
+				LOGGER.debug("Socket closed during message assembly");
+				throw new IOException("Socket closed during message assembly");
+			}
+			offset += read;
+		}
+	}
+
+	private static int parseDigits(byte[] bytes, int offset, int length) throws IOException {
+		int value = 0;
+		for (int i = offset; i < offset + length; i++) {
+			int digit = bytes[i] - '0';
+			if (digit < 0 || digit > 9) {
+				throw new IOException("Expected an ASCII digit at offset " + i + " but found " + (bytes[i] & 0xff));
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	private static void putDigits(ByteBuffer buffer, int value, int width) {
+		if (value < 0) {
+			throw new IllegalArgumentException("Value must not be negative: " + value);
+		}
+		int start = buffer.position();
+		int remainder = value;
+		for (int i = width - 1; i >= 0; i--) {
+			buffer.put(start + i, (byte) ('0' + remainder % 10));
+			remainder /= 10;
+		}
+		if (remainder != 0) {
+			throw new IllegalArgumentException("Value " + value + " does not fit into " + width + " digits");
+		}
+		buffer.position(start + width);
+	}
+
+	private static void putLatin1(ByteBuffer buffer, String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c > 0xff) {
+				throw new IllegalArgumentException("Character '" + c + "' at index " + i
+						+ " is not an ISO-8859-1 character");
+			}
+			buffer.put((byte) c);
+		}
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.tcpclientserver;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Verifies that {@link ByteBufferCustomSerializerDeserializer} is wire compatible with
+ * {@link CustomSerializerDeserializer} and compares the throughput of both codecs.
+ *
+ * @author Artem Bilan
+ */
+public class ByteBufferCustomSerializerDeserializerTest {
+
+	private static final Log LOGGER = LogFactory.getLog(ByteBufferCustomSerializerDeserializerTest.class);
+
+	private static final String SOURCE_MESSAGE = "123PINGPONG02000019You got it to work!";
+
+	private static final int ITERATIONS = 200_000;
+
+	private final ByteBufferCustomSerializerDeserializer codec = new ByteBufferCustomSerializerDeserializer();
+
+	@Test
+	public void testDeserialize() throws IOException {
+		CustomOrder order = this.codec.deserialize(
+				new ByteArrayInputStream(SOURCE_MESSAGE.getBytes(StandardCharsets.ISO_8859_1)));
+		assertThat(order.getNumber()).isEqualTo(123);
+		assertThat(order.getSender()).isEqualTo("PINGPONG02");
+		assertThat(order.getMessage()).isEqualTo("You got it to work!");
+	}
+
+	@Test
+	public void testSerializeIsCompatibleWithOriginal() throws IOException {
+		CustomOrder order = new CustomOrder(123, "PINGPONG02");
+		order.setMessage("You got it to work!");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		this.codec.serialize(order, out);
+		assertThat(out.toString(StandardCharsets.ISO_8859_1)).isEqualTo(SOURCE_MESSAGE);
+
+		CustomOrder decoded = new CustomSerializerDeserializer().deserialize(new ByteArrayInputStream(out.toByteArray()));
+		assertThat(decoded.getNumber()).isEqualTo(123);
+		assertThat(decoded.getMessage()).isEqualTo("You got it to work!");
+	}
+
+	@Test
+	public void testSerializePadsShortFields() throws IOException {
+		CustomOrder order = new CustomOrder(7, "BOB");
+		order.setMessage("hi");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		this.codec.serialize(order, out);
+		assertThat(out.toString(StandardCharsets.ISO_8859_1)).isEqualTo("007BOB       000002hi");
+	}
+
+	@Test
+	public void testBuffersGrowForLargeMessages() throws IOException {
+		CustomOrder order = new CustomOrder(1, "PINGPONG02");
+		order.setMessage("x".repeat(100_000));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		this.codec.serialize(order, out);
+		CustomOrder decoded = this.codec.deserialize(new ByteArrayInputStream(out.toByteArray()));
+		assertThat(decoded.getMessage()).hasSize(100_000);
+	}
+
+	@Test
+	public void testRejectsCharactersOutsideLatin1() {
+		CustomOrder order = new CustomOrder(1, "PINGPONG02");
+		order.setMessage("caf\u00e9 \u20ac");
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.codec.serialize(order, new ByteArrayOutputStream()))
+				.withMessageContaining("index 5");
+	}
+
+	@Test
+	public void testTruncatedStream() {
+		assertThatIOException()
+				.isThrownBy(() -> this.codec.deserialize(new ByteArrayInputStream("123PINGPONG02000019You".getBytes())))
+				.withMessage("Socket closed during message assembly");
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void compareThroughput() throws IOException {
+		CustomOrder order = new CustomOrder(123, "PINGPONG02");
+		order.setMessage("You got it to work! ".repeat(10));
+
+		long original = measure(new CustomSerializerDeserializer(), new CustomSerializerDeserializer(), order);
+		long buffered = measure(this.codec, this.codec, order);
+
+		LOGGER.info(String.format("CustomSerializerDeserializer: %,d round trips/sec; "
+				+ "ByteBufferCustomSerializerDeserializer: %,d round trips/sec", original, buffered));
+	}
+
+	private static long measure(Serializer<CustomOrder> serializer, Deserializer<CustomOrder> deserializer,
+			CustomOrder order) throws IOException {
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		// warm up
+		for (int i = 0; i < ITERATIONS / 10; i++) {
+			roundTrip(serializer, deserializer, order, out);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			CustomOrder decoded = roundTrip(serializer, deserializer, order, out);
+			assertThat(decoded.getNumber()).isEqualTo(order.getNumber());
+		}
+		long elapsed = System.nanoTime() - start;
+		return ITERATIONS * 1_000_000_000L / Math.max(elapsed, 1);
+	}
+
+	private static CustomOrder roundTrip(Serializer<CustomOrder> serializer, Deserializer<CustomOrder> deserializer,
+			CustomOrder order, ByteArrayOutputStream out) throws IOException {
+
+		out.reset();
+		serializer.serialize(order, out);
+		InputStream in = new ByteArrayInputStream(out.toByteArray());
+		return deserializer.deserialize(in);
+	}
+
+}
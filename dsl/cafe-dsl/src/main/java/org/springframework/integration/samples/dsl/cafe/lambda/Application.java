@@ -16,11 +16,15 @@
 
 package org.springframework.integration.samples.dsl.cafe.lambda;
 
-import java.util.concurrent.Executors;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -36,7 +40,10 @@ import org.springframework.integration.samples.cafe.DrinkType;
 import org.springframework.integration.samples.cafe.Order;
 import org.springframework.integration.samples.cafe.OrderItem;
 import org.springframework.integration.scheduling.PollerMetadata;
+import org.springframework.integration.store.MessageGroup;
 import org.springframework.integration.stream.CharacterStreamWritingMessageHandler;
+import org.springframework.messaging.Message;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * @author Artem Bilan
@@ -58,6 +65,8 @@ public class Application {
 
 		System.out.println("Hit 'Enter' to terminate");
 		System.in.read();
+		System.out.println(ctx.getBean(Application.class)
+				.orderItemsExecutorStats(ctx.getBean("orderItemsExecutor", ThreadPoolTaskExecutor.class)));
 		ctx.close();
 	}
 
@@ -73,21 +82,65 @@ public class Application {
 
 	private final AtomicInteger coldDrinkCounter = new AtomicInteger();
 
+	private final AtomicLong orderItemsRunByCaller = new AtomicLong();
+
+	@Value("${cafe.barista.cold-drink-delay:1s}")
+	private Duration coldDrinkDelay;
+
+	@Value("${cafe.barista.hot-drink-delay:5s}")
+	private Duration hotDrinkDelay;
+
 	@Bean(name = PollerMetadata.DEFAULT_POLLER)
 	public PollerSpec poller() {
 		return Pollers.fixedDelay(1000);
 	}
 
+	/**
+	 * The executor for the order items split from the orders: when its queue is full,
+	 * the thread placing the order routes the item itself, which slows down the orders
+	 * instead of starting more threads.
+	 * @param poolSize the number of threads.
+	 * @param queueCapacity the number of order items that can wait for a thread.
+	 * @return the executor.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor orderItemsExecutor(
+			@Value("${cafe.order-items.pool-size:10}") int poolSize,
+			@Value("${cafe.order-items.queue-capacity:100}") int queueCapacity) {
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setRejectedExecutionHandler((task, threadPool) -> {
+			if (!threadPool.isShutdown()) {
+				this.orderItemsRunByCaller.incrementAndGet();
+				task.run();
+			}
+		});
+		executor.setThreadNamePrefix("order-items-");
+		return executor;
+	}
+
+	public String orderItemsExecutorStats(ThreadPoolTaskExecutor orderItemsExecutor) {
+		ThreadPoolExecutor threadPool = orderItemsExecutor.getThreadPoolExecutor();
+		return "Order items executor [poolSize=" + threadPool.getPoolSize()
+				+ ", active=" + threadPool.getActiveCount()
+				+ ", queued=" + threadPool.getQueue().size()
+				+ ", completed=" + threadPool.getCompletedTaskCount()
+				+ ", runByCaller=" + this.orderItemsRunByCaller.get() + "]";
+	}
+
 	@Bean
-	public IntegrationFlow orders() {
+	public IntegrationFlow orders(ThreadPoolTaskExecutor orderItemsExecutor) {
 		return f -> f
 				.split(Order.class, Order::getItems)
-				.channel(c -> c.executor(Executors.newCachedThreadPool()))
+				.channel(c -> c.executor(orderItemsExecutor))
 				.<OrderItem, Boolean>route(OrderItem::isIced, mapping -> mapping
 						.subFlowMapping(true, sf -> sf
 								.channel(c -> c.queue(10))
 								.publishSubscribeChannel(c -> c
-										.subscribe(s -> s.handle(m -> sleepUninterruptibly(1, TimeUnit.SECONDS)))
+										.subscribe(s -> s.handle(m -> sleepUninterruptibly(this.coldDrinkDelay)))
 										.subscribe(sub -> sub
 												.<OrderItem, String>transform(p ->
 														Thread.currentThread().getName() +
@@ -99,7 +152,7 @@ public class Application {
 						.subFlowMapping(false, sf -> sf
 								.channel(c -> c.queue(10))
 								.publishSubscribeChannel(c -> c
-										.subscribe(s -> s.handle(m -> sleepUninterruptibly(5, TimeUnit.SECONDS)))
+										.subscribe(s -> s.handle(m -> sleepUninterruptibly(this.hotDrinkDelay)))
 										.subscribe(sub -> sub
 												.<OrderItem, String>transform(p ->
 														Thread.currentThread().getName() +
@@ -113,20 +166,26 @@ public class Application {
 								orderItem.getDrinkType(),
 								orderItem.isIced(),
 								orderItem.getShots()))
+				// correlated and released by the splitter's correlationId and sequenceSize headers
 				.aggregate(aggregator -> aggregator
-						.outputProcessor(g ->
-								new Delivery(g.getMessages()
-										.stream()
-										.map(message -> (Drink) message.getPayload())
-										.collect(Collectors.toList())))
-						.correlationStrategy(m -> ((Drink) m.getPayload()).getOrderNumber()))
+						.outputProcessor(Application::prepareDelivery)
+						.expireGroupsUponCompletion(true))
+				.channel("deliveries")
 				.handle(CharacterStreamWritingMessageHandler.stdout());
 	}
 
-	private static void sleepUninterruptibly(long sleepFor, TimeUnit unit) {
+	private static Delivery prepareDelivery(MessageGroup group) {
+		List<Drink> drinks = new ArrayList<>(group.size());
+		for (Message<?> message : group.getMessages()) {
+			drinks.add((Drink) message.getPayload());
+		}
+		return new Delivery(drinks);
+	}
+
+	private static void sleepUninterruptibly(Duration sleepFor) {
 		boolean interrupted = false;
 		try {
-			unit.sleep(sleepFor);
+			TimeUnit.NANOSECONDS.sleep(sleepFor.toNanos());
 		}
 		catch (InterruptedException e) {
 			interrupted = true;
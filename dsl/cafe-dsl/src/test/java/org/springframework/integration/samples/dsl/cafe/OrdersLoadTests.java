@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.dsl.cafe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.integration.channel.AbstractMessageChannel;
+import org.springframework.integration.samples.cafe.Delivery;
+import org.springframework.integration.samples.cafe.DrinkType;
+import org.springframework.integration.samples.cafe.Order;
+import org.springframework.integration.samples.dsl.cafe.lambda.Application;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that orders are delivered, with drinks that take no time to prepare, and, as a
+ * benchmark, places a few thousand orders and reports the orders delivered per second.
+ *
+ * @author Artem Bilan
+ */
+@SpringBootTest(classes = Application.class, properties = {
+		"cafe.barista.cold-drink-delay=0s",
+		"cafe.barista.hot-drink-delay=0s",
+		"cafe.order-items.queue-capacity=10" })
+public class OrdersLoadTests {
+
+	private static final Log LOGGER = LogFactory.getLog(OrdersLoadTests.class);
+
+	private static final int ORDERS = 5000;
+
+	@Autowired
+	private Application.Cafe cafe;
+
+	@Autowired
+	@Qualifier("deliveries")
+	private AbstractMessageChannel deliveries;
+
+	@Autowired
+	private Application application;
+
+	@Autowired
+	private ThreadPoolTaskExecutor orderItemsExecutor;
+
+	@Test
+	public void testOrdersAreDelivered() throws InterruptedException {
+		List<Delivery> deliveries = deliver(ORDERS + 1, 10);
+
+		assertThat(deliveries).extracting(Delivery::getOrderNumber)
+				.containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(ORDERS + 1, ORDERS + 10).boxed().toList());
+		assertThat(deliveries).allSatisfy(delivery -> assertThat(delivery.getDeliveredDrinks()).hasSize(2));
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void ordersPerSecond() throws InterruptedException {
+		long start = System.nanoTime();
+		List<Delivery> deliveries = deliver(1, ORDERS);
+		long elapsed = System.nanoTime() - start;
+
+		LOGGER.info(String.format("%d orders delivered in %d ms, %.1f orders/sec", ORDERS,
+				TimeUnit.NANOSECONDS.toMillis(elapsed), ORDERS * 1_000_000_000d / elapsed));
+		LOGGER.info(this.application.orderItemsExecutorStats(this.orderItemsExecutor));
+		assertThat(deliveries).allSatisfy(delivery -> assertThat(delivery.getDeliveredDrinks()).hasSize(2));
+		assertThat(this.orderItemsExecutor.getThreadPoolExecutor().getPoolSize()).isLessThanOrEqualTo(10);
+	}
+
+	/**
+	 * Place the orders, each for a hot and a cold drink, and wait for their deliveries.
+	 */
+	private List<Delivery> deliver(int firstOrder, int orders) throws InterruptedException {
+		CountDownLatch delivered = new CountDownLatch(orders);
+		Queue<Delivery> deliveries = new ConcurrentLinkedQueue<>();
+		ChannelInterceptor interceptor = new ChannelInterceptor() {
+
+			@Override
+			public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+				deliveries.add((Delivery) message.getPayload());
+				delivered.countDown();
+			}
+
+		};
+		this.deliveries.addInterceptor(interceptor);
+		try {
+			for (int i = firstOrder; i < firstOrder + orders; i++) {
+				Order order = new Order(i);
+				order.addItem(DrinkType.LATTE, 2, false);
+				order.addItem(DrinkType.MOCHA, 3, true);
+				this.cafe.placeOrder(order);
+			}
+			assertThat(delivered.await(2, TimeUnit.MINUTES)).isTrue();
+		}
+		finally {
+			this.deliveries.removeInterceptor(interceptor);
+		}
+		return new ArrayList<>(deliveries);
+	}
+
+}
@@ -27,6 +27,7 @@ import org.springframework.util.Assert;
  * the file system.
  *
  * @author Gunnar Hillert
+ * @author Artem Bilan
  * @since 2.2
  *
  */
@@ -59,7 +60,7 @@ public class EmailFragment {
 
 	/**
 	 * The data to save to the file system, e.g. text messages/attachments, binary
-	 * file attachments etc.
+	 * file attachments etc., or the {@link File} the data was streamed to.
 	 */
 	public Object getData() {
 		return data;
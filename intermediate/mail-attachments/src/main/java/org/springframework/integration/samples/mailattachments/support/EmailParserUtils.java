@@ -188,7 +188,7 @@ public final class EmailParserUtils {
 						new Object[]{ contentType, filename, disposition, subject }));
 			}
 
-			if (Part.ATTACHMENT.equalsIgnoreCase(disposition)) {
+			if (Part.ATTACHMENT.equalsIgnoreCase(disposition) && LOGGER.isInfoEnabled()) {
 				LOGGER.info(String.format("Handling attachment '%s', type: '%s'", filename, contentType));
 			}
 
@@ -208,7 +208,6 @@ public final class EmailParserUtils {
 
 				if (Part.ATTACHMENT.equalsIgnoreCase(disposition)) {
 					emailFragments.add(new EmailFragment(directory, i + "-" + filename, content));
-					LOGGER.info(String.format("Handling attachment '%s', type: '%s'", filename, contentType));
 				}
 				else {
 
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.mailattachments.support;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.integration.annotation.Transformer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import jakarta.mail.BodyPart;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+import jakarta.mail.internet.MimeBodyPart;
+
+/**
+ * An alternative to the {@link EmailTransformer} for large attachments: rather than
+ * reading the content of each part of the E-mail Message into memory, the decoded
+ * stream of each part is copied to a file in the {@code spoolDirectory}, through a
+ * buffer of {@code bufferSize} bytes, and the {@link EmailFragment}s reference these
+ * files. The parts of a message are copied in parallel, by {@code parallelism} threads.
+ * <p>
+ * The fragments are named as by the {@link EmailParserUtils}; the text parts are written
+ * in their own charset rather than in UTF-8.
+ *
+ * @author Artem Bilan
+ * @since 7.0
+ *
+ */
+public class StreamingEmailTransformer implements DisposableBean {
+
+	private static final Log LOGGER = LogFactory.getLog(StreamingEmailTransformer.class);
+
+	private final Path spoolDirectory;
+
+	private final int bufferSize;
+
+	private final ExecutorService executor;
+
+	/**
+	 * Stream the parts through a 64 KB buffer, with one thread per processor.
+	 *
+	 * @param spoolDirectory the directory to stream the parts to
+	 */
+	public StreamingEmailTransformer(File spoolDirectory) {
+		this(spoolDirectory, 64 * 1024, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param spoolDirectory the directory to stream the parts to
+	 * @param bufferSize the size of the buffer of each part being streamed
+	 * @param parallelism the maximum number of parts streamed at the same time
+	 */
+	public StreamingEmailTransformer(File spoolDirectory, int bufferSize, int parallelism) {
+		this.spoolDirectory = spoolDirectory.toPath();
+		this.bufferSize = bufferSize;
+		this.executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("email-part-"));
+	}
+
+	@Transformer
+	public List<EmailFragment> transformit(jakarta.mail.Message mailMessage) {
+
+		final List<SpooledPart> parts = new ArrayList<>();
+
+		try {
+			collectMessage(null, mailMessage, parts);
+			Files.createDirectories(this.spoolDirectory);
+		}
+		catch (IOException | MessagingException e) {
+			throw new IllegalStateException("Error while retrieving the email parts.", e);
+		}
+
+		final List<CompletableFuture<EmailFragment>> fragments = new ArrayList<>(parts.size());
+
+		for (SpooledPart part : parts) {
+			fragments.add(CompletableFuture.supplyAsync(() -> write(part), this.executor));
+		}
+
+		try {
+			CompletableFuture.allOf(fragments.toArray(new CompletableFuture<?>[0])).join();
+		}
+		catch (CompletionException e) {
+			for (CompletableFuture<EmailFragment> fragment : fragments) {
+				if (!fragment.isCompletedExceptionally()) {
+					((File) fragment.join().getData()).delete();
+				}
+			}
+			throw new IllegalStateException("Error while streaming the email parts.", e.getCause());
+		}
+
+		if (LOGGER.isInfoEnabled()) {
+			LOGGER.info("Email contains " + fragments.size() + " fragments.");
+		}
+
+		return fragments.stream()
+				.map(CompletableFuture::join)
+				.toList();
+	}
+
+	/**
+	 * Collect the parts of a message, the same way as
+	 * {@link EmailParserUtils#handleMessage(File, jakarta.mail.Message, List)}, without
+	 * reading their content.
+	 */
+	private void collectMessage(File directory, jakarta.mail.Message mailMessage, List<SpooledPart> parts)
+			throws MessagingException, IOException {
+
+		final String subject = mailMessage.getSubject();
+
+		if (mailMessage.isMimeType("multipart/*")) {
+			File directoryToUse = directory == null ? new File(subject) : new File(directory, subject);
+			collectMultipart(directoryToUse, (Multipart) mailMessage.getContent(), parts);
+		}
+		else {
+			parts.add(new SpooledPart(new File(subject), "message.txt", mailMessage));
+		}
+	}
+
+	private void collectMultipart(File directory, Multipart multipart, List<SpooledPart> parts)
+			throws MessagingException, IOException {
+
+		final int count = multipart.getCount();
+
+		for (int i = 0; i < count; i++) {
+
+			final BodyPart bp = multipart.getBodyPart(i);
+
+			if (bp.isMimeType("multipart/*")) {
+				collectMultipart(directory, (Multipart) bp.getContent(), parts);
+			}
+			else if (bp.isMimeType("message/rfc822")) {
+				collectMessage(directory, (jakarta.mail.Message) bp.getContent(), parts);
+			}
+			else {
+				parts.add(new SpooledPart(directory, filename(i, bp), bp));
+			}
+		}
+	}
+
+	private static String filename(int index, BodyPart bp) throws MessagingException {
+
+		String filename = bp.getFileName();
+
+		if (filename == null && bp instanceof MimeBodyPart mimeBodyPart) {
+			filename = mimeBodyPart.getContentID();
+		}
+
+		if (bp.isMimeType("text/*")) {
+			if (Part.ATTACHMENT.equalsIgnoreCase(bp.getDisposition())) {
+				return index + "-" + filename;
+			}
+			else if (bp.isMimeType("text/plain")) {
+				return "message.txt";
+			}
+			else if (bp.isMimeType("text/html")) {
+				return "message.html";
+			}
+			else {
+				return "message.other";
+			}
+		}
+
+		return filename != null ? filename : index + "-attachment";
+	}
+
+	private EmailFragment write(SpooledPart part) {
+
+		Path spooled = null;
+
+		try {
+			spooled = Files.createTempFile(this.spoolDirectory, "part-", ".tmp");
+			final ByteBuffer buffer = ByteBuffer.allocate(this.bufferSize);
+			try (ReadableByteChannel in = Channels.newChannel(part.part().getInputStream());
+					FileChannel out = FileChannel.open(spooled, StandardOpenOption.WRITE)) {
+				while (in.read(buffer) != -1) {
+					buffer.flip();
+					while (buffer.hasRemaining()) {
+						out.write(buffer);
+					}
+					buffer.clear();
+				}
+			}
+		}
+		catch (IOException | MessagingException e) {
+			if (spooled != null) {
+				spooled.toFile().delete();
+			}
+			throw new IllegalStateException("Error while streaming '" + part.filename() + "'.", e);
+		}
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Streamed '" + part.filename() + "' to " + spooled);
+		}
+
+		return new EmailFragment(part.directory(), part.filename(), spooled.toFile());
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdown();
+	}
+
+	private record SpooledPart(File directory, String filename, Part part) {
+	}
+
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.mailattachments.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.integration.file.FileWritingMessageHandler;
+import org.springframework.messaging.Message;
+import org.springframework.util.FileSystemUtils;
+
+import jakarta.activation.DataHandler;
+import jakarta.activation.FileDataSource;
+import jakarta.mail.Part;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import jakarta.mail.util.SharedFileInputStream;
+
+/**
+ * Tests for the {@link StreamingEmailTransformer}, and a benchmark of the time and heap
+ * it takes to save the attachments of large messages with that of the
+ * {@link EmailTransformer}.
+ *
+ * @author Artem Bilan
+ * @since 7.0
+ *
+ */
+public class StreamingEmailTransformerTests {
+
+	private static final Log LOGGER = LogFactory.getLog(StreamingEmailTransformerTests.class);
+
+	private static final int ATTACHMENTS = 8;
+
+	private final Session session = Session.getInstance(new Properties());
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testSameFilesAsInMemory() throws Exception {
+		MimeMessage nested = new MimeMessage(this.session);
+		nested.setSubject("nested");
+		nested.setText("Hello from the nested message", "UTF-8");
+
+		MimeBodyPart text = new MimeBodyPart();
+		text.setText("Hello", "UTF-8");
+		MimeBodyPart html = new MimeBodyPart();
+		html.setContent("<p>Hello</p>", "text/html; charset=UTF-8");
+		MimeBodyPart notes = new MimeBodyPart();
+		notes.setText("Some notes", "UTF-8");
+		notes.setFileName("notes.txt");
+		notes.setDisposition(Part.ATTACHMENT);
+		MimeBodyPart picture = new MimeBodyPart();
+		picture.attachFile(new ClassPathResource(
+				"org/springframework/integration/samples/mailattachments/picture.png").getFile());
+		MimeBodyPart forwarded = new MimeBodyPart();
+		forwarded.setContent(nested, "message/rfc822");
+
+		MimeMessage message = new MimeMessage(this.session);
+		message.setSubject("test");
+		message.setContent(new MimeMultipart(text, html, notes, picture, forwarded));
+		message.saveChanges();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		message.writeTo(bytes);
+		MimeMessage received = new MimeMessage(this.session, new ByteArrayInputStream(bytes.toByteArray()));
+
+		Path inMemory = this.tempDir.resolve("in-memory");
+		process(new EmailTransformer()::transformit, received, inMemory);
+		StreamingEmailTransformer streaming = new StreamingEmailTransformer(this.tempDir.resolve("spool").toFile());
+		Path streamed = this.tempDir.resolve("streamed");
+		process(streaming::transformit, received, streamed);
+		streaming.destroy();
+
+		Map<String, byte[]> expected = contents(inMemory);
+		assertThat(expected).containsOnlyKeys("test/message.txt", "test/message.html", "test/2-notes.txt",
+				"test/picture.png", "nested/message.txt");
+		Map<String, byte[]> actual = contents(streamed);
+		assertThat(actual).containsOnlyKeys(expected.keySet());
+		expected.forEach((path, content) -> assertThat(actual.get(path)).as(path).isEqualTo(content));
+		try (Stream<Path> spooled = Files.list(this.tempDir.resolve("spool"))) {
+			assertThat(spooled).isEmpty();
+		}
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void timeAndHeap() throws Exception {
+		for (int size : new int[] { 5, 25 }) {
+			File mime = createMessage(size * 1024 * 1024);
+			MimeMessage message = new MimeMessage(this.session, new SharedFileInputStream(mime));
+			String inMemory;
+			if (Runtime.getRuntime().maxMemory() > 6L * ATTACHMENTS * size * 1024 * 1024) {
+				inMemory = timeAndHeap(new EmailTransformer()::transformit, message, size);
+			}
+			else {
+				inMemory = "skipped, not enough heap";
+			}
+			StreamingEmailTransformer transformer =
+					new StreamingEmailTransformer(this.tempDir.resolve("spool").toFile());
+			String streamed = timeAndHeap(transformer::transformit, message, size);
+			transformer.destroy();
+			LOGGER.info(String.format("%,d MB message, %d attachments of %d MB: in memory %s, streamed %s",
+					mime.length() / 1024 / 1024, ATTACHMENTS, size, inMemory, streamed));
+			mime.delete();
+		}
+	}
+
+	private String timeAndHeap(Function<jakarta.mail.Message, List<EmailFragment>> transformer,
+			MimeMessage message, int size) throws IOException {
+
+		Path out = this.tempDir.resolve("out");
+		System.gc();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+		long start = System.nanoTime();
+		process(transformer, message, out);
+		long elapsed = System.nanoTime() - start;
+		long peakHeap = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peakHeap += pool.getPeakUsage().getUsed();
+			}
+		}
+		for (int i = 0; i < ATTACHMENTS; i++) {
+			assertThat(Files.size(out.resolve("large/attachment-" + i + ".bin"))).isEqualTo(size * 1024L * 1024);
+		}
+		FileSystemUtils.deleteRecursively(out);
+		return String.format("%,d ms, %,d MB peak heap", elapsed / 1_000_000, peakHeap / 1024 / 1024);
+	}
+
+	/**
+	 * Transform, split and save a message, as the {@code transform-split} chain and the
+	 * {@code save-as-file} adapter do.
+	 */
+	private static void process(Function<jakarta.mail.Message, List<EmailFragment>> transformer,
+			jakarta.mail.Message message, Path out) {
+
+		FileWritingMessageHandler handler = new FileWritingMessageHandler(
+				new SpelExpressionParser().parseExpression("'" + out + "/' + headers.directory"));
+		handler.setAutoCreateDirectory(true);
+		handler.setDeleteSourceFiles(true);
+		handler.setExpectReply(false);
+		handler.afterPropertiesSet();
+		for (Message<?> fragment : new EmailSplitter().splitIntoMessages(transformer.apply(message))) {
+			handler.handleMessage(fragment);
+		}
+	}
+
+	/**
+	 * Write a message with {@link #ATTACHMENTS} random binary attachments to a file.
+	 */
+	private File createMessage(int attachmentSize) throws Exception {
+		MimeMultipart multipart = new MimeMultipart();
+		MimeBodyPart text = new MimeBodyPart();
+		text.setText("Large attachments", "UTF-8");
+		multipart.addBodyPart(text);
+		Random random = new Random(42);
+		byte[] chunk = new byte[1024 * 1024];
+		for (int i = 0; i < ATTACHMENTS; i++) {
+			File attachment = this.tempDir.resolve("attachment-" + i + ".bin").toFile();
+			try (OutputStream out = Files.newOutputStream(attachment.toPath())) {
+				for (int written = 0; written < attachmentSize; written += chunk.length) {
+					random.nextBytes(chunk);
+					out.write(chunk);
+				}
+			}
+			attachment.deleteOnExit();
+			MimeBodyPart part = new MimeBodyPart();
+			part.setDataHandler(new DataHandler(new FileDataSource(attachment)));
+			part.setFileName(attachment.getName());
+			part.setDisposition(Part.ATTACHMENT);
+			multipart.addBodyPart(part);
+		}
+		MimeMessage message = new MimeMessage(this.session);
+		message.setSubject("large");
+		message.setContent(multipart);
+		message.saveChanges();
+		File mime = this.tempDir.resolve("large.eml").toFile();
+		try (OutputStream out = Files.newOutputStream(mime.toPath())) {
+			message.writeTo(out);
+		}
+		return mime;
+	}
+
+	private static Map<String, byte[]> contents(Path directory) throws IOException {
+		Map<String, byte[]> contents = new TreeMap<>();
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+				contents.put(directory.relativize(file).toString().replace(File.separatorChar, '/'),
+						Files.readAllBytes(file));
+			}
+		}
+		return contents;
+	}
+
+}
@@ -43,10 +43,13 @@ public class PayloadAwareTimingInterceptor implements ChannelInterceptor {
 
 	private final Map<Class<?>, Stats> statsMap = new ConcurrentHashMap<>();
 
+	private final PayloadTypeResolver<Stats> statsResolver;
+
 	/**
 	 *
 	 * @param classes An array of types for which statistics will be captured; if
-	 * not supplied {@link Object} will be added as a catch-all.
+	 * not supplied {@link Object} will be added as a catch-all. Payloads are counted
+	 * against the nearest of these types they are assignable to.
 	 */
 	public PayloadAwareTimingInterceptor(Class<?>[] classes) {
 		for (Class<?> clazz : classes) {
@@ -55,6 +58,7 @@ public class PayloadAwareTimingInterceptor implements ChannelInterceptor {
 		if (!this.statsMap.containsKey(Object.class)) {
 			this.statsMap.put(Object.class, new Stats());
 		}
+		this.statsResolver = new PayloadTypeResolver<>(this.statsMap);
 	}
 
 	@Override
@@ -70,11 +74,7 @@ public class PayloadAwareTimingInterceptor implements ChannelInterceptor {
 		StopWatchHolder holder = stopWatchHolder.get();
 		if (holder != null) {
 			holder.stopWatch().stop();
-			Stats stats = this.statsMap.get(holder.type());
-			if (stats == null) {
-				stats = this.statsMap.get(Object.class);
-			}
-			stats.add(holder.stopWatch().lastTaskInfo().getTimeMillis());
+			this.statsResolver.resolve(holder.type()).add(holder.stopWatch().lastTaskInfo().getTimeMillis());
 		}
 	}
 
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springintegration;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.Assert;
+
+/**
+ * Resolves a payload class to the value registered for its nearest registered
+ * supertype (the class itself, then its superclasses and interfaces, breadth first),
+ * falling back to the value registered for {@link Object}.
+ * <p>
+ * The result is computed once per payload class and cached in a {@link ClassValue}, so
+ * resolving the type of every message costs a single lookup, hit or miss.
+ *
+ * @param <T> the value type.
+ *
+ * @author Artem Bilan
+ *
+ * @since 7.0
+ *
+ */
+final class PayloadTypeResolver<T> {
+
+	private final Map<Class<?>, T> registered;
+
+	private final ClassValue<T> resolved = new ClassValue<>() {
+
+		@Override
+		protected T computeValue(Class<?> type) {
+			return nearest(type);
+		}
+
+	};
+
+	/**
+	 * @param registered the values per type; must contain an entry for {@link Object}
+	 * and must not be modified afterwards.
+	 */
+	PayloadTypeResolver(Map<Class<?>, T> registered) {
+		Assert.notNull(registered.get(Object.class), "A value must be registered for 'java.lang.Object'");
+		this.registered = Collections.unmodifiableMap(registered);
+	}
+
+	T resolve(Class<?> type) {
+		return this.resolved.get(type);
+	}
+
+	private T nearest(Class<?> type) {
+		Deque<Class<?>> candidates = new ArrayDeque<>();
+		Set<Class<?>> visited = new HashSet<>();
+		candidates.add(type);
+		while (!candidates.isEmpty()) {
+			Class<?> candidate = candidates.poll();
+			if (!visited.add(candidate) || Object.class.equals(candidate)) {
+				continue;
+			}
+			T value = this.registered.get(candidate);
+			if (value != null) {
+				return value;
+			}
+			if (candidate.getSuperclass() != null) {
+				candidates.add(candidate.getSuperclass());
+			}
+			Collections.addAll(candidates, candidate.getInterfaces());
+		}
+		return this.registered.get(Object.class);
+	}
+
+}
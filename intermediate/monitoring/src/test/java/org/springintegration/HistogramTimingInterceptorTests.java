@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springintegration;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.messaging.support.GenericMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the bucket and percentile math of the {@link HistogramTimingInterceptor}
+ * histogram, and for the statistics it records for the sends on a channel.
+ *
+ * @author Artem Bilan
+ *
+ */
+public class HistogramTimingInterceptorTests {
+
+	@Test
+	public void testSmallValuesHaveABucketEach() {
+		for (long value = 0; value < 16; value++) {
+			assertThat(HistogramTimingInterceptor.Histogram.bucketIndex(value)).isEqualTo((int) value);
+			assertThat(HistogramTimingInterceptor.Histogram.upperBound((int) value)).isEqualTo(value);
+		}
+		assertThat(HistogramTimingInterceptor.Histogram.bucketIndex(-1)).isZero();
+	}
+
+	@Test
+	public void testBucketsBoundValuesWithinOneSixteenth() {
+		int previousIndex = 0;
+		for (long value = 1; value < 1L << 44; value += 1 + value / 7) {
+			int index = HistogramTimingInterceptor.Histogram.bucketIndex(value);
+			long upperBound = HistogramTimingInterceptor.Histogram.upperBound(index);
+			assertThat(index).as("index of %d", value).isGreaterThanOrEqualTo(previousIndex);
+			assertThat(upperBound).as("upper bound of %d", value).isGreaterThanOrEqualTo(value);
+			assertThat(upperBound - value).as("error for %d", value).isLessThanOrEqualTo(value / 16);
+			if (index > 0) {
+				assertThat(HistogramTimingInterceptor.Histogram.upperBound(index - 1)).isLessThan(value);
+			}
+			previousIndex = index;
+		}
+	}
+
+	@Test
+	public void testPowersOfTwoStartABucket() {
+		for (int exponent = 4; exponent < 44; exponent++) {
+			long value = 1L << exponent;
+			int index = HistogramTimingInterceptor.Histogram.bucketIndex(value);
+			assertThat(HistogramTimingInterceptor.Histogram.bucketIndex(value - 1)).isEqualTo(index - 1);
+			assertThat(HistogramTimingInterceptor.Histogram.upperBound(index - 1)).isEqualTo(value - 1);
+		}
+	}
+
+	@Test
+	public void testHugeValuesShareTheLastBucket() {
+		int last = HistogramTimingInterceptor.Histogram.bucketIndex((1L << 44) - 1);
+		assertThat(HistogramTimingInterceptor.Histogram.bucketIndex(1L << 44)).isEqualTo(last);
+		assertThat(HistogramTimingInterceptor.Histogram.bucketIndex(Long.MAX_VALUE)).isEqualTo(last);
+	}
+
+	@Test
+	public void testPercentiles() {
+		HistogramTimingInterceptor.Histogram histogram = new HistogramTimingInterceptor.Histogram();
+		assertThat(histogram.getPercentile(50.0)).isZero();
+		for (long value = 1; value <= 10_000; value++) {
+			histogram.record(value * 1000);
+		}
+		assertPercentile(histogram, 50.0, 5_000_000);
+		assertPercentile(histogram, 90.0, 9_000_000);
+		assertPercentile(histogram, 99.0, 9_900_000);
+		assertPercentile(histogram, 99.9, 9_990_000);
+		assertPercentile(histogram, 100.0, 10_000_000);
+		assertThat(histogram.getPercentile(0.0)).isEqualTo(HistogramTimingInterceptor.Histogram.upperBound(
+				HistogramTimingInterceptor.Histogram.bucketIndex(1000)));
+	}
+
+	@Test
+	public void testPercentileOfASingleOutlier() {
+		HistogramTimingInterceptor.Histogram histogram = new HistogramTimingInterceptor.Histogram();
+		for (int i = 0; i < 999; i++) {
+			histogram.record(10);
+		}
+		histogram.record(1_000_000);
+		assertThat(histogram.getPercentile(99.9)).isEqualTo(10);
+		assertPercentile(histogram, 100.0, 1_000_000);
+	}
+
+	@Test
+	public void testStatisticsPerPayloadType() throws Exception {
+		HistogramTimingInterceptor interceptor =
+				new HistogramTimingInterceptor(new Class<?>[] { String.class, Number.class });
+		DirectChannel channel = new DirectChannel();
+		channel.addInterceptor(interceptor);
+		channel.subscribe(message -> {
+			if ("nested".equals(message.getPayload())) {
+				channel.send(new GenericMessage<>(42));
+			}
+		});
+
+		for (int i = 0; i < 10; i++) {
+			channel.send(new GenericMessage<>("text"));
+		}
+		channel.send(new GenericMessage<>("nested"));
+		channel.send(new GenericMessage<>(new Object()));
+
+		assertThat(interceptor.getCount("java.lang.String")).isEqualTo(11);
+		assertThat(interceptor.getCount("java.lang.Number")).isEqualTo(1);
+		assertThat(interceptor.getCount("java.lang.Object")).isEqualTo(1);
+		assertThat(interceptor.getP50Micros("java.lang.String"))
+				.isLessThanOrEqualTo(interceptor.getP99Micros("java.lang.String"))
+				.isLessThanOrEqualTo(interceptor.getMaxMicros("java.lang.String"));
+		assertThat(interceptor.getAverage("java.lang.String")).isGreaterThanOrEqualTo(0f);
+		assertThat(interceptor.getSummary()).hasSize(3);
+	}
+
+	private static void assertPercentile(HistogramTimingInterceptor.Histogram histogram, double percentile,
+			long expected) {
+
+		assertThat(histogram.getPercentile(percentile))
+				.as("p%s", percentile)
+				.isBetween(expected, expected + expected / 16);
+	}
+
+}
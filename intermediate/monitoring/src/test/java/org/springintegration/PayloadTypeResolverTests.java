@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springintegration;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the {@link PayloadTypeResolver}, including a comparison with the exact
+ * {@link Map} lookup (and {@link Object} fallback) it replaces, using a mix of payloads
+ * that are, extend or implement the registered types, or are unrelated to them.
+ *
+ * @author Artem Bilan
+ *
+ */
+public class PayloadTypeResolverTests {
+
+	private static final Log LOGGER = LogFactory.getLog(PayloadTypeResolverTests.class);
+
+	private static final int ITERATIONS = 5_000_000;
+
+	private static final Object[] PAYLOADS = {
+			"text",
+			new StringBuilder("text"),
+			1,
+			2L,
+			BigDecimal.ONE,
+			new AtomicLong(),
+			new ArrayList<>(),
+			new LinkedList<>(),
+			new byte[0],
+			new Object()
+	};
+
+	@Test
+	public void testNearestRegisteredType() {
+		PayloadTypeResolver<String> resolver = new PayloadTypeResolver<>(registered());
+
+		assertThat(resolver.resolve(String.class)).isEqualTo("String");
+		assertThat(resolver.resolve(StringBuilder.class)).isEqualTo("CharSequence");
+		assertThat(resolver.resolve(Integer.class)).isEqualTo("Number");
+		assertThat(resolver.resolve(AtomicLong.class)).isEqualTo("Number");
+		assertThat(resolver.resolve(ArrayList.class)).isEqualTo("List");
+		assertThat(resolver.resolve(LinkedList.class)).isEqualTo("List");
+		assertThat(resolver.resolve(byte[].class)).isEqualTo("Object");
+		assertThat(resolver.resolve(Object.class)).isEqualTo("Object");
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void compareWithExactLookup() {
+		Map<Class<?>, String> map = new ConcurrentHashMap<>(registered());
+		PayloadTypeResolver<String> resolver = new PayloadTypeResolver<>(map);
+		Class<?>[] types = new Class<?>[PAYLOADS.length];
+		for (int i = 0; i < PAYLOADS.length; i++) {
+			types[i] = PAYLOADS[i].getClass();
+		}
+
+		int misattributed = 0;
+		for (Class<?> type : types) {
+			if (exactLookup(map, type).equals("Object") && !resolver.resolve(type).equals("Object")) {
+				misattributed++;
+			}
+		}
+
+		for (int round = 0; round < 3; round++) {
+			int blackhole = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				blackhole += exactLookup(map, types[i % types.length]).length();
+			}
+			long exact = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				blackhole += resolver.resolve(types[i % types.length]).length();
+			}
+			long resolved = System.nanoTime() - start;
+
+			assertThat(blackhole).isNotZero();
+			LOGGER.info(String.format("Exact map lookup: %.1f ns/op (%d of %d payload types counted as Object), "
+							+ "PayloadTypeResolver: %.1f ns/op",
+					(double) exact / ITERATIONS, misattributed, types.length, (double) resolved / ITERATIONS));
+		}
+	}
+
+	private static String exactLookup(Map<Class<?>, String> map, Class<?> type) {
+		String stats = map.get(type);
+		if (stats == null) {
+			stats = map.get(Object.class);
+		}
+		return stats;
+	}
+
+	private static Map<Class<?>, String> registered() {
+		Map<Class<?>, String> registered = new HashMap<>();
+		registered.put(String.class, "String");
+		registered.put(CharSequence.class, "CharSequence");
+		registered.put(Number.class, "Number");
+		registered.put(List.class, "List");
+		registered.put(Object.class, "Object");
+		return registered;
+	}
+
+}
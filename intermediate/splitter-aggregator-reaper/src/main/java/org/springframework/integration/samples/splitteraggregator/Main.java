@@ -15,12 +15,12 @@
  */
 package org.springframework.integration.samples.splitteraggregator;
 
+import java.util.Arrays;
 import java.util.Scanner;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 import org.springframework.integration.samples.splitteraggregator.support.TestUtils;
 
@@ -55,8 +55,12 @@ public final class Main {
 				  + "\n                                                         "
 				  + "\n=========================================================" );
 
-		final AbstractApplicationContext context =
-				new ClassPathXmlApplicationContext("classpath:META-INF/spring/integration/*-context.xml");
+		final ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext();
+		context.setConfigLocation("classpath:META-INF/spring/integration/*-context.xml");
+		if (Arrays.asList(args).contains("--virtual-threads")) {
+			context.getEnvironment().setActiveProfiles("virtual-threads");
+		}
+		context.refresh();
 
 		context.registerShutdownHook();
 
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.integration.samples.splitteraggregator.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.MessageGroupCallback;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.messaging.Message;
+
+/**
+ * A {@link SimpleMessageStore} that keeps its groups in an index ordered by timestamp,
+ * so that {@link #expireMessageGroups(long)} (as invoked by a
+ * {@link org.springframework.integration.store.MessageGroupStoreReaper}) only visits the
+ * groups that are old enough to expire, instead of iterating over all groups.
+ *
+ * A group is indexed by its creation time when its first message is added. When it
+ * reaches the head of the index, its actual timestamp is checked (which, with
+ * {@code timeoutOnIdle}, is the time it was last modified); a group that turns out not
+ * to be old enough is simply indexed again with that timestamp.
+ *
+ * @author Artem Bilan
+ * @since 7.0
+ *
+ */
+public class ExpiryIndexedMessageStore extends SimpleMessageStore {
+
+	private final NavigableSet<ExpiryEntry> expiryIndex = new ConcurrentSkipListSet<>();
+
+	private final Map<Object, ExpiryEntry> indexedGroups = new ConcurrentHashMap<>();
+
+	private final List<MessageGroupCallback> expiryCallbacks = new CopyOnWriteArrayList<>();
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private final Lock expiryLock = new ReentrantLock();
+
+	@Override
+	public void registerMessageGroupExpiryCallback(MessageGroupCallback callback) {
+		super.registerMessageGroupExpiryCallback(callback);
+		this.expiryCallbacks.add(callback);
+	}
+
+	@Override
+	public void addMessagesToGroup(Object groupId, Message<?>... messages) {
+		super.addMessagesToGroup(groupId, messages);
+		if (!this.indexedGroups.containsKey(groupId)) {
+			index(groupId, getMessageGroup(groupId).getTimestamp());
+		}
+	}
+
+	@Override
+	public void removeMessageGroup(Object groupId) {
+		super.removeMessageGroup(groupId);
+		ExpiryEntry entry = this.indexedGroups.remove(groupId);
+		if (entry != null) {
+			this.expiryIndex.remove(entry);
+		}
+	}
+
+	@Override
+	public int expireMessageGroups(long timeout) {
+		this.expiryLock.lock();
+		try {
+			long threshold = System.currentTimeMillis() - timeout;
+			List<ExpiryEntry> stillPresent = new ArrayList<>();
+			RuntimeException exception = null;
+			int count = 0;
+			try {
+				ExpiryEntry entry;
+				while ((entry = this.expiryIndex.pollFirst()) != null) {
+					if (entry.timestamp() > threshold) {
+						this.expiryIndex.add(entry);
+						break;
+					}
+					if (this.indexedGroups.get(entry.groupId()) != entry) {
+						continue; // removed concurrently
+					}
+					MessageGroup group = getMessageGroup(entry.groupId());
+					if (group.size() == 0 && group.getTimestamp() > entry.timestamp()) {
+						// a new, empty group: the indexed one was removed while it was being indexed
+						this.indexedGroups.remove(entry.groupId(), entry);
+						continue;
+					}
+					long timestamp = group.getTimestamp();
+					if (isTimeoutOnIdle() && group.getLastModified() > 0) {
+						timestamp = group.getLastModified();
+					}
+					if (timestamp > threshold) {
+						index(entry.groupId(), timestamp);
+						continue;
+					}
+					count++;
+					for (MessageGroupCallback callback : this.expiryCallbacks) {
+						try {
+							callback.execute(this, group);
+						}
+						catch (RuntimeException e) {
+							exception = e;
+						}
+					}
+					if (this.indexedGroups.get(entry.groupId()) == entry) {
+						// not removed by the callbacks - look at it again on the next pass
+						stillPresent.add(entry);
+					}
+				}
+			}
+			finally {
+				this.expiryIndex.addAll(stillPresent);
+			}
+			if (exception != null) {
+				throw exception;
+			}
+			return count;
+		}
+		finally {
+			this.expiryLock.unlock();
+		}
+	}
+
+	private void index(Object groupId, long timestamp) {
+		ExpiryEntry entry = new ExpiryEntry(timestamp, this.sequence.incrementAndGet(), groupId);
+		ExpiryEntry previous = this.indexedGroups.put(groupId, entry);
+		if (previous != null) {
+			this.expiryIndex.remove(previous);
+		}
+		this.expiryIndex.add(entry);
+	}
+
+	private record ExpiryEntry(long timestamp, long sequence, Object groupId) implements Comparable<ExpiryEntry> {
+
+		@Override
+		public int compareTo(ExpiryEntry other) {
+			int result = Long.compare(this.timestamp, other.timestamp);
+			return result != 0 ? result : Long.compare(this.sequence, other.sequence);
+		}
+
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.integration.samples.splitteraggregator.support;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * @author Artem Bilan
+ * @since 7.0
+ *
+ */
+public final class TaskExecutors {
+
+	private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private TaskExecutors() {
+	}
+
+	/**
+	 * Create an executor that starts a new thread for each task. When running on
+	 * Java 21 or later, these are virtual threads, so a search blocking in
+	 * {@link Thread#sleep(long)} (or I/O) does not tie up a platform thread; on
+	 * earlier versions, platform threads are used, and a task submitted while
+	 * {@code platformThreadLimit} of them are running waits for one to finish.
+	 *
+	 * @param threadNamePrefix the prefix for the thread names
+	 * @param platformThreadLimit the maximum number of platform threads running at a time
+	 * @return the executor
+	 */
+	public static TaskExecutor threadPerTask(String threadNamePrefix, int platformThreadLimit) {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+		if (Runtime.version().feature() >= VIRTUAL_THREADS_JAVA_VERSION) {
+			executor.setVirtualThreads(true);
+		}
+		else {
+			executor.setConcurrencyLimit(platformThreadLimit);
+		}
+		return executor;
+	}
+
+}
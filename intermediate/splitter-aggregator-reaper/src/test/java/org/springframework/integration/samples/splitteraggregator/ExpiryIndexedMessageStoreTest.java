@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.splitteraggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.samples.splitteraggregator.support.ExpiryIndexedMessageStore;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.messaging.support.GenericMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the {@link ExpiryIndexedMessageStore}, including a comparison of the time
+ * a reaper pass takes with the {@link SimpleMessageStore} when 1% of the groups expire.
+ * The group counts are swept from 1k to 100k; set the {@code expiry.benchmark.maxGroups}
+ * system property (for example to 1000000) to go further.
+ *
+ * @author Artem Bilan
+ *
+ */
+public class ExpiryIndexedMessageStoreTest {
+
+	private static final Log LOGGER = LogFactory.getLog(ExpiryIndexedMessageStoreTest.class);
+
+	@Test
+	public void testOnlyOldGroupsExpire() throws Exception {
+		ExpiryIndexedMessageStore store = new ExpiryIndexedMessageStore();
+		List<Object> expired = new ArrayList<>();
+		store.registerMessageGroupExpiryCallback((s, group) -> {
+			expired.add(group.getGroupId());
+			s.removeMessageGroup(group.getGroupId());
+		});
+
+		store.addMessagesToGroup("old", new GenericMessage<>("a"));
+		Thread.sleep(50);
+		store.addMessagesToGroup("new", new GenericMessage<>("b"));
+
+		assertThat(store.expireMessageGroups(25)).isEqualTo(1);
+		assertThat(expired).containsExactly("old");
+		assertThat(store.getMessageGroupCount()).isEqualTo(1);
+
+		assertThat(store.expireMessageGroups(0)).isEqualTo(1);
+		assertThat(expired).containsExactly("old", "new");
+		assertThat(store.getMessageGroupCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void testGroupsNotRemovedByCallbackAreExpiredAgain() throws Exception {
+		ExpiryIndexedMessageStore store = new ExpiryIndexedMessageStore();
+		List<Object> expired = new ArrayList<>();
+		store.registerMessageGroupExpiryCallback((s, group) -> expired.add(group.getGroupId()));
+
+		store.addMessagesToGroup("kept", new GenericMessage<>("a"));
+		Thread.sleep(10);
+
+		assertThat(store.expireMessageGroups(0)).isEqualTo(1);
+		assertThat(store.expireMessageGroups(0)).isEqualTo(1);
+		assertThat(expired).containsExactly("kept", "kept");
+	}
+
+	@Test
+	public void testTimeoutOnIdle() throws Exception {
+		ExpiryIndexedMessageStore store = new ExpiryIndexedMessageStore();
+		store.setTimeoutOnIdle(true);
+		List<Object> expired = new ArrayList<>();
+		store.registerMessageGroupExpiryCallback((s, group) -> {
+			expired.add(group.getGroupId());
+			s.removeMessageGroup(group.getGroupId());
+		});
+
+		store.addMessagesToGroup("busy", new GenericMessage<>("a"));
+		Thread.sleep(50);
+		store.addMessagesToGroup("busy", new GenericMessage<>("b"));
+
+		assertThat(store.expireMessageGroups(25)).isEqualTo(0);
+		Thread.sleep(50);
+		assertThat(store.expireMessageGroups(25)).isEqualTo(1);
+		assertThat(expired).containsExactly("busy");
+	}
+
+	@Test
+	@Tag("benchmark")
+	public void compareReaperPass() throws Exception {
+		int maxGroups = Integer.getInteger("expiry.benchmark.maxGroups", 100_000);
+		for (int groups = 1_000; groups <= maxGroups; groups *= 10) {
+			long simple = reaperPass(new SimpleMessageStore(), groups);
+			long indexed = reaperPass(new ExpiryIndexedMessageStore(), groups);
+			LOGGER.info(String.format("%,9d groups: SimpleMessageStore %,8d us, ExpiryIndexedMessageStore %,8d us",
+					groups, simple / 1000, indexed / 1000));
+		}
+	}
+
+	private static long reaperPass(SimpleMessageStore store, int groups) throws InterruptedException {
+		store.registerMessageGroupExpiryCallback((s, group) -> s.removeMessageGroup(group.getGroupId()));
+		int expiring = groups / 100;
+		for (int i = 0; i < expiring; i++) {
+			store.addMessagesToGroup(i, new GenericMessage<>("old"));
+		}
+		Thread.sleep(50);
+		for (int i = expiring; i < groups; i++) {
+			store.addMessagesToGroup(i, new GenericMessage<>("new"));
+		}
+		long start = System.nanoTime();
+		int expired = store.expireMessageGroups(25);
+		long elapsed = System.nanoTime() - start;
+		assertThat(expired).isEqualTo(expiring);
+		assertThat(store.getMessageGroupCount()).isEqualTo(groups - expiring);
+		return elapsed;
+	}
+
+}
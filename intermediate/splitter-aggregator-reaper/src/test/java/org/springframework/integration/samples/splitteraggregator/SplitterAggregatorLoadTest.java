@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.splitteraggregator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.integration.samples.splitteraggregator.support.TestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Submits concurrent searches to the pooled (polled queue channels) and the virtual
+ * thread (executor channels) configurations and logs the completed
+ * {@link CompositeResult}s per second and the p99 latency of each.
+ *
+ * @author Artem Bilan
+ *
+ */
+public class SplitterAggregatorLoadTest {
+
+	private static final Log LOGGER = LogFactory.getLog(SplitterAggregatorLoadTest.class);
+
+	private static final int REQUESTS = 200;
+
+	private static final int CONCURRENT_REQUESTORS = 50;
+
+	private static final long SEARCH_TIME = 20L;
+
+	@Test
+	@Tag("benchmark")
+	public void compareConfigurations() throws Exception {
+		LoadResult pooled = run();
+		LoadResult virtual = run("virtual-threads");
+
+		LOGGER.info("Pooled:          " + pooled);
+		LOGGER.info("Virtual threads: " + virtual);
+
+		assertThat(pooled.completed()).isEqualTo(REQUESTS);
+		assertThat(virtual.completed()).isEqualTo(REQUESTS);
+	}
+
+	private static LoadResult run(String... profiles) throws Exception {
+		try (ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext()) {
+			context.setConfigLocation("classpath:META-INF/spring/integration/spring-integration-context.xml");
+			context.getEnvironment().setActiveProfiles(profiles);
+			context.refresh();
+			SearchRequestor searchRequestor = context.getBean(SearchRequestor.class);
+			context.getBean(SearchA.class).setExecutionTime(SEARCH_TIME);
+			context.getBean(SearchB.class).setExecutionTime(SEARCH_TIME);
+
+			ExecutorService requestors = Executors.newFixedThreadPool(CONCURRENT_REQUESTORS);
+			try {
+				List<Future<Long>> latencies = new ArrayList<>(REQUESTS);
+				long start = System.nanoTime();
+				for (int i = 0; i < REQUESTS; i++) {
+					latencies.add(requestors.submit(() -> {
+						long requestStart = System.nanoTime();
+						CompositeResult result = searchRequestor.search(TestUtils.getCompositeCriteria());
+						boolean complete = result != null && result.getResults().size() == 2;
+						return complete ? System.nanoTime() - requestStart : -1L;
+					}));
+				}
+				long[] completed = new long[REQUESTS];
+				int count = 0;
+				for (Future<Long> latency : latencies) {
+					long nanos = latency.get(1, TimeUnit.MINUTES);
+					if (nanos >= 0) {
+						completed[count++] = nanos;
+					}
+				}
+				long elapsed = System.nanoTime() - start;
+				long[] sorted = Arrays.copyOf(completed, count);
+				Arrays.sort(sorted);
+				long p99 = count == 0 ? -1 : sorted[Math.min(count - 1, (int) Math.ceil(count * 0.99) - 1)];
+				return new LoadResult(count, count * 1_000_000_000d / elapsed, TimeUnit.NANOSECONDS.toMillis(p99));
+			}
+			finally {
+				requestors.shutdownNow();
+			}
+		}
+	}
+
+	private record LoadResult(int completed, double perSecond, long p99Millis) {
+
+		@Override
+		public String toString() {
+			return String.format("%d/%d complete results, %.1f results/sec, p99 latency %d ms",
+					this.completed, REQUESTS, this.perSecond, this.p99Millis);
+		}
+
+	}
+
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.splitteraggregator;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the Scatter-Gather integration tests against the virtual thread configuration.
+ *
+ * @author Artem Bilan
+ *
+ */
+@ActiveProfiles("virtual-threads")
+public class TestSplitterAggregatorVirtualThreads extends TestSplitterAggregator {
+
+}
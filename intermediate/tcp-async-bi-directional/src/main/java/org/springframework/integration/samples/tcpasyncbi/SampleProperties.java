@@ -16,12 +16,15 @@
 
 package org.springframework.integration.samples.tcpasyncbi;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
  * Properties for the sample.
  *
  * @author Gary Russell
+ * @author Artem Bilan
  * @since 5.3
  *
  */
@@ -30,6 +33,28 @@ public class SampleProperties {
 
 	private int serverPort;
 
+	/**
+	 * Push to the clients with a {@link ServerPush} instead of splitting their
+	 * connection ids.
+	 */
+	private boolean serverPush;
+
+	/**
+	 * The maximum number of messages queued for a client by the {@link ServerPush}.
+	 */
+	private int pushQueueCapacity = 64;
+
+	/**
+	 * The number of threads writing to the clients in the {@link ServerPush}.
+	 */
+	private int pushWriters = 4;
+
+	/**
+	 * The time a write to a client may take in the {@link ServerPush} before the
+	 * connection of the client is closed.
+	 */
+	private Duration pushWriteTimeout = Duration.ofSeconds(10);
+
 	public int getServerPort() {
 		return this.serverPort;
 	}
@@ -38,4 +63,36 @@ public class SampleProperties {
 		this.serverPort = serverPort;
 	}
 
+	public boolean isServerPush() {
+		return this.serverPush;
+	}
+
+	public void setServerPush(boolean serverPush) {
+		this.serverPush = serverPush;
+	}
+
+	public int getPushQueueCapacity() {
+		return this.pushQueueCapacity;
+	}
+
+	public void setPushQueueCapacity(int pushQueueCapacity) {
+		this.pushQueueCapacity = pushQueueCapacity;
+	}
+
+	public int getPushWriters() {
+		return this.pushWriters;
+	}
+
+	public void setPushWriters(int pushWriters) {
+		this.pushWriters = pushWriters;
+	}
+
+	public Duration getPushWriteTimeout() {
+		return this.pushWriteTimeout;
+	}
+
+	public void setPushWriteTimeout(Duration pushWriteTimeout) {
+		this.pushWriteTimeout = pushWriteTimeout;
+	}
+
 }
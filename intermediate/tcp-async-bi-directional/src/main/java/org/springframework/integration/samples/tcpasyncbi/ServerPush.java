@@ -0,0 +1,347 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.tcpasyncbi;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.integration.ip.tcp.connection.TcpConnection;
+import org.springframework.integration.ip.tcp.connection.TcpConnectionCloseEvent;
+import org.springframework.integration.ip.tcp.connection.TcpConnectionOpenEvent;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Pushes payloads to the clients connected to a server connection factory, as an
+ * alternative to splitting the connection ids of the clients into one message per
+ * client for an outbound channel adapter.
+ * <ul>
+ * <li>The connections of the clients are registered from their
+ * {@link TcpConnectionOpenEvent}s and {@link TcpConnectionCloseEvent}s.</li>
+ * <li>A payload is encoded once into a single message, which the serializer of each
+ * connection only frames.</li>
+ * <li>Each client has a queue of the messages pushed to it, written by one of the
+ * {@code writers} threads; the clients are written to in parallel, and a slow client
+ * only delays its own queue. When {@code queueCapacity} messages are already queued for
+ * a client, the messages pushed to it are dropped until it catches up.</li>
+ * <li>A client that doesn't read would block a writer thread in the write of its
+ * connection: when a write takes longer than the {@code writeTimeout}, the connection of
+ * the client is closed, which releases the writer.</li>
+ * </ul>
+ * Used as a {@link MessageHandler}, it pushes the payload of each message to all the
+ * clients.
+ *
+ * @author Artem Bilan
+ */
+public class ServerPush implements MessageHandler, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(ServerPush.class);
+
+	private final Map<String, Client> clients = new ConcurrentHashMap<>();
+
+	private final LongAdder pushed = new LongAdder();
+
+	private final LongAdder dropped = new LongAdder();
+
+	private final LongAdder disconnected = new LongAdder();
+
+	private final LongAdder written = new LongAdder();
+
+	private final LongAdder latencyNanos = new LongAdder();
+
+	private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+	private final String connectionFactoryName;
+
+	private final int queueCapacity;
+
+	private final ExecutorService writers;
+
+	private final long writeTimeoutNanos;
+
+	private final ScheduledExecutorService watchdog;
+
+	/**
+	 * @param connectionFactoryName the bean name of the server connection factory.
+	 * @param queueCapacity the maximum number of messages queued for a client.
+	 * @param writers the number of threads writing to the clients.
+	 */
+	public ServerPush(String connectionFactoryName, int queueCapacity, int writers) {
+		this(connectionFactoryName, queueCapacity, writers, Duration.ofSeconds(10));
+	}
+
+	/**
+	 * @param connectionFactoryName the bean name of the server connection factory.
+	 * @param queueCapacity the maximum number of messages queued for a client.
+	 * @param writers the number of threads writing to the clients.
+	 * @param writeTimeout the time a write to a client may take before its connection is closed.
+	 */
+	public ServerPush(String connectionFactoryName, int queueCapacity, int writers, Duration writeTimeout) {
+		this.connectionFactoryName = connectionFactoryName;
+		this.queueCapacity = queueCapacity;
+		this.writers = Executors.newFixedThreadPool(writers, new CustomizableThreadFactory("server-push-"));
+		this.writeTimeoutNanos = writeTimeout.toNanos();
+		this.watchdog = Executors.newSingleThreadScheduledExecutor(
+				new CustomizableThreadFactory("server-push-watchdog-"));
+		long period = Math.max(writeTimeout.toMillis() / 4, 10);
+		this.watchdog.scheduleWithFixedDelay(this::closeBlockedClients, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	@EventListener
+	public void open(TcpConnectionOpenEvent event) {
+		if (this.connectionFactoryName.equals(event.getConnectionFactoryName())) {
+			this.clients.put(event.getConnectionId(), new Client((TcpConnection) event.getSource()));
+		}
+	}
+
+	@EventListener
+	public void close(TcpConnectionCloseEvent event) {
+		Client client = this.clients.remove(event.getConnectionId());
+		if (client != null) {
+			client.clear();
+		}
+	}
+
+	@Override
+	public void handleMessage(Message<?> message) {
+		push(message.getPayload());
+	}
+
+	/**
+	 * Push a payload to all the clients.
+	 * @param payload the payload; a {@link String} is encoded in UTF-8.
+	 * @return the number of clients the payload is queued for.
+	 */
+	public int push(Object payload) {
+		return pushTo(payload, this.clients.values());
+	}
+
+	/**
+	 * Push a payload to some of the clients.
+	 * @param payload the payload; a {@link String} is encoded in UTF-8.
+	 * @param connectionIds the connection ids of the clients.
+	 * @return the number of clients the payload is queued for.
+	 */
+	public int push(Object payload, Collection<String> connectionIds) {
+		return pushTo(payload, connectionIds.stream()
+				.map(this.clients::get)
+				.filter(Objects::nonNull)
+				.toList());
+	}
+
+	private int pushTo(Object payload, Collection<Client> targets) {
+		Message<?> message = MessageBuilder.withPayload(
+						payload instanceof String string ? string.getBytes(StandardCharsets.UTF_8) : payload)
+				.build();
+		Push push = new Push(message, System.nanoTime());
+		this.pushed.increment();
+		int queued = 0;
+		for (Client client : targets) {
+			if (client.offer(push)) {
+				queued++;
+			}
+			else {
+				this.dropped.increment();
+			}
+		}
+		return queued;
+	}
+
+	/**
+	 * Close the connections of the clients with a write blocked for longer than the write
+	 * timeout; the blocked write then fails, and its writer thread is released.
+	 */
+	private void closeBlockedClients() {
+		long now = System.nanoTime();
+		this.clients.forEach((connectionId, client) -> {
+			if (client.isBlockedSince(now - this.writeTimeoutNanos) && this.clients.remove(connectionId, client)) {
+				logger.warn("Closing " + connectionId + ": a write has been blocked for more than "
+						+ TimeUnit.NANOSECONDS.toMillis(this.writeTimeoutNanos) + " ms");
+				this.disconnected.increment();
+				client.close();
+			}
+		});
+	}
+
+	/**
+	 * @return the connection ids of the clients.
+	 */
+	public Set<String> getConnectionIds() {
+		return this.clients.keySet();
+	}
+
+	/**
+	 * @return the number of messages queued for each client, by connection id.
+	 */
+	public Map<String, Integer> getQueueDepths() {
+		return this.clients.entrySet()
+				.stream()
+				.collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().depth.get()));
+	}
+
+	/**
+	 * @return the statistics of the pushes.
+	 */
+	public Statistics getStatistics() {
+		long written = this.written.sum();
+		return new Statistics(this.clients.size(), this.pushed.sum(), written, this.dropped.sum(),
+				this.disconnected.sum(), written == 0 ? 0 : this.latencyNanos.sum() / written / 1_000_000d,
+				this.maxLatencyNanos.get() / 1_000_000d);
+	}
+
+	@Override
+	public void destroy() {
+		this.watchdog.shutdownNow();
+		this.writers.shutdownNow();
+	}
+
+	/**
+	 * @param clients the number of clients connected.
+	 * @param pushed the number of payloads pushed.
+	 * @param written the number of messages written to a client.
+	 * @param dropped the number of messages dropped because the queue of a client was full.
+	 * @param disconnected the number of clients disconnected because a write to them timed out.
+	 * @param averageLatencyMillis the average time from a push to its write to a client.
+	 * @param maxLatencyMillis the maximum time from a push to its write to a client.
+	 */
+	public record Statistics(int clients, long pushed, long written, long dropped, long disconnected,
+			double averageLatencyMillis, double maxLatencyMillis) {
+	}
+
+	private record Push(Message<?> message, long timestamp) {
+	}
+
+	/**
+	 * A client connection and the queue of the messages pushed to it; only one writer
+	 * thread drains the queue at a time.
+	 */
+	private final class Client implements Runnable {
+
+		private final TcpConnection connection;
+
+		private final Queue<Push> queue = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger depth = new AtomicInteger();
+
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		/** the {@link System#nanoTime()} at the start of the current write, 0 when not writing */
+		private volatile long writingSince;
+
+		private volatile boolean closed;
+
+		Client(TcpConnection connection) {
+			this.connection = connection;
+		}
+
+		boolean offer(Push push) {
+			if (this.closed) {
+				return false;
+			}
+			if (this.depth.incrementAndGet() > ServerPush.this.queueCapacity) {
+				this.depth.decrementAndGet();
+				return false;
+			}
+			this.queue.offer(push);
+			drain();
+			return true;
+		}
+
+		private void drain() {
+			if (!this.queue.isEmpty() && this.draining.compareAndSet(false, true)) {
+				try {
+					ServerPush.this.writers.execute(this);
+				}
+				catch (RejectedExecutionException e) {
+					this.draining.set(false);
+					clear();
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				Push push;
+				while ((push = this.queue.poll()) != null) {
+					try {
+						this.writingSince = System.nanoTime() | 1;
+						this.connection.send(push.message());
+						long latency = System.nanoTime() - push.timestamp();
+						ServerPush.this.written.increment();
+						ServerPush.this.latencyNanos.add(latency);
+						ServerPush.this.maxLatencyNanos.accumulate(latency);
+					}
+					catch (Exception e) {
+						logger.warn("Failed to push to " + this.connection.getConnectionId() + ": " + e.getMessage());
+					}
+					finally {
+						this.writingSince = 0;
+						this.depth.decrementAndGet();
+					}
+				}
+			}
+			finally {
+				this.draining.set(false);
+			}
+			drain();
+		}
+
+		boolean isBlockedSince(long time) {
+			long since = this.writingSince;
+			return since != 0 && since - time < 0;
+		}
+
+		void close() {
+			this.closed = true;
+			clear();
+			this.connection.close();
+		}
+
+		void clear() {
+			while (this.queue.poll() != null) {
+				this.depth.decrementAndGet();
+			}
+		}
+
+	}
+
+}
@@ -21,6 +21,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -44,6 +45,7 @@ import org.springframework.integration.ip.tcp.connection.TcpConnectionOpenEvent;
  * There are two client instances.
  *
  * @author Gary Russell
+ * @author Artem Bilan
  * @since 5.3
  *
  */
@@ -123,6 +125,7 @@ class ServerPeer {
 	}
 
 	@Bean
+	@ConditionalOnProperty(name = "tcp.server-push", havingValue = "false", matchIfMissing = true)
 	public IntegrationFlow serverOut(AbstractServerConnectionFactory server) {
 		return IntegrationFlow.fromSupplier(() -> "seed", e -> e.poller(Pollers.fixedDelay(5000)))
 				.split(this.clients, "iterator")
@@ -132,6 +135,22 @@ class ServerPeer {
 				.get();
 	}
 
+	@Bean
+	@ConditionalOnProperty("tcp.server-push")
+	public ServerPush serverPush(SampleProperties properties) {
+		return new ServerPush("server", properties.getPushQueueCapacity(), properties.getPushWriters(),
+				properties.getPushWriteTimeout());
+	}
+
+	@Bean
+	@ConditionalOnProperty("tcp.server-push")
+	public IntegrationFlow serverPushOut(ServerPush serverPush) {
+		return IntegrationFlow.fromSupplier(() -> "Hello from server", e -> e.id("serverPushAdapter")
+						.poller(Pollers.fixedDelay(5000)))
+				.handle(serverPush)
+				.get();
+	}
+
 	@EventListener
 	public void open(TcpConnectionOpenEvent event) {
 		if (event.getConnectionFactoryName().equals("server")) {
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.samples.tcpasyncbi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.integration.channel.AbstractMessageChannel;
+import org.springframework.integration.dsl.context.IntegrationFlowContext;
+import org.springframework.integration.dsl.context.IntegrationFlowContext.IntegrationFlowRegistration;
+import org.springframework.integration.endpoint.SourcePollingChannelAdapter;
+import org.springframework.integration.ip.IpHeaders;
+import org.springframework.integration.ip.dsl.Tcp;
+import org.springframework.integration.ip.tcp.connection.AbstractServerConnectionFactory;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.test.context.SpringIntegrationTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * Tests for the {@link ServerPush}, and a benchmark of pushes to hundreds of clients,
+ * with the {@link ServerPush} and with one message per client split from their
+ * connection ids, as in the {@code serverOut} flow.
+ *
+ * @author Artem Bilan
+ */
+@SpringBootTest(properties = { "tcp.server-push=true", "tcp.push-write-timeout=3s" })
+@SpringIntegrationTest(noAutoStartup = { "client1Adapter", "client2Adapter", "serverPushAdapter" })
+@DirtiesContext
+class ServerPushTests {
+
+	private static final Log LOGGER = LogFactory.getLog(ServerPushTests.class);
+
+	private static final int CLIENTS = 200;
+
+	private static final int PUSHES = 50;
+
+	@Autowired
+	private ServerPush serverPush;
+
+	@Autowired
+	private SampleProperties properties;
+
+	@Autowired
+	private AbstractServerConnectionFactory server;
+
+	@Autowired
+	private IntegrationFlowContext flowContext;
+
+	@Autowired
+	@Qualifier("client1Adapter")
+	private SourcePollingChannelAdapter adapter1;
+
+	@Autowired
+	@Qualifier("client1In.channel#0")
+	private AbstractMessageChannel client1In;
+
+	@Test
+	void testPushToClient() throws Exception {
+		CountDownLatch pushed = new CountDownLatch(1);
+		this.client1In.addInterceptor(new ChannelInterceptor() {
+
+			@Override
+			public Message<?> preSend(Message<?> message, MessageChannel channel) {
+				if ("Hello from ServerPushTests".equals(new String((byte[]) message.getPayload()))) {
+					pushed.countDown();
+				}
+				return message;
+			}
+
+		});
+		Set<String> before = new HashSet<>(this.serverPush.getConnectionIds());
+		this.adapter1.start();
+		String client1 = awaitNewConnection(before);
+		assertThat(this.serverPush.push("Hello from ServerPushTests", List.of(client1))).isEqualTo(1);
+		assertThat(pushed.await(10, TimeUnit.SECONDS)).isTrue();
+		this.adapter1.stop();
+	}
+
+	@Test
+	void testSlowClientOnlyDelaysItself() throws Exception {
+		int capacity = this.properties.getPushQueueCapacity();
+		Set<String> before = new HashSet<>(this.serverPush.getConnectionIds());
+		LongAdder received = new LongAdder();
+		try (Socket reader = connect(received); Socket slow = new Socket()) {
+			String readerId = awaitNewConnection(before);
+			before.add(readerId);
+			slow.setReceiveBufferSize(1024);
+			slow.connect(reader.getRemoteSocketAddress());
+			String slowId = awaitNewConnection(before);
+			List<String> clients = List.of(readerId, slowId);
+
+			byte[] payload = "x".repeat(64 * 1024).getBytes(StandardCharsets.UTF_8);
+			long dropped = this.serverPush.getStatistics().dropped();
+			for (int i = 0; i < 500; i++) {
+				// the caller applies its own backpressure from the queue depth of the clients it cares for
+				while (this.serverPush.getQueueDepths().get(readerId) > capacity / 2) {
+					Thread.sleep(1);
+				}
+				assertThat(this.serverPush.push(payload, clients)).isBetween(1, 2);
+			}
+			awaitReceived(received, 500);
+			assertThat(this.serverPush.getQueueDepths().get(readerId)).isZero();
+			assertThat(this.serverPush.getStatistics().dropped() - dropped).isPositive();
+			// and, as it never reads, it is disconnected once its write times out
+			awaitDisconnected(slowId);
+			assertThat(this.serverPush.getConnectionIds()).contains(readerId);
+		}
+	}
+
+	@Test
+	void testClientsThatNeverReadReleaseTheWriters() throws Exception {
+		Set<String> before = new HashSet<>(this.serverPush.getConnectionIds());
+		LongAdder received = new LongAdder();
+		List<Socket> stalled = new ArrayList<>();
+		try (Socket reader = connect(received)) {
+			String readerId = awaitNewConnection(before);
+			before.add(readerId);
+			List<String> stalledIds = new ArrayList<>();
+			// as many clients that never read as writer threads
+			for (int i = 0; i < this.properties.getPushWriters(); i++) {
+				Socket socket = new Socket();
+				stalled.add(socket);
+				socket.setReceiveBufferSize(1024);
+				socket.connect(reader.getRemoteSocketAddress());
+				String stalledId = awaitNewConnection(before);
+				before.add(stalledId);
+				stalledIds.add(stalledId);
+			}
+			long disconnected = this.serverPush.getStatistics().disconnected();
+			List<String> clients = new ArrayList<>(stalledIds);
+			clients.add(readerId);
+
+			// more than the socket buffers of the stalled clients hold
+			byte[] payload = "x".repeat(64 * 1024).getBytes(StandardCharsets.UTF_8);
+			int capacity = this.properties.getPushQueueCapacity();
+			for (int i = 0; i < 200; i++) {
+				while (this.serverPush.getQueueDepths().get(readerId) > capacity / 2) {
+					Thread.sleep(1);
+				}
+				assertThat(this.serverPush.push(payload, clients)).isBetween(1, clients.size());
+			}
+			// the writers blocked by the stalled clients are released by the write timeout
+			awaitReceived(received, 200);
+			for (String stalledId : stalledIds) {
+				awaitDisconnected(stalledId);
+			}
+			assertThat(this.serverPush.getStatistics().disconnected() - disconnected)
+					.isEqualTo(stalledIds.size());
+			assertThat(this.serverPush.push("Hello from ServerPushTests", List.of(readerId))).isEqualTo(1);
+			awaitReceived(received, 1);
+		}
+		finally {
+			for (Socket socket : stalled) {
+				socket.close();
+			}
+		}
+	}
+
+	@Test
+	@Tag("benchmark")
+	void pushesPerSecond() throws Exception {
+		// the outbound adapter only knows the connections opened after its registration
+		Set<String> connectionIds = ConcurrentHashMap.newKeySet();
+		IntegrationFlowRegistration splitFlow = this.flowContext.registration(f -> f
+						.split(connectionIds, "iterator")
+						.enrichHeaders(h -> h.headerExpression(IpHeaders.CONNECTION_ID, "payload"))
+						.transform(p -> "Hello from server")
+						.handle(Tcp.outboundAdapter(this.server)))
+				.register();
+		Set<String> before = new HashSet<>(this.serverPush.getConnectionIds());
+		LongAdder received = new LongAdder();
+		List<Socket> clients = new ArrayList<>();
+		for (int i = 0; i < CLIENTS; i++) {
+			clients.add(connect(received));
+		}
+		for (int i = 0; i < 100 && connectionIds.size() < CLIENTS; i++) {
+			Thread.sleep(100);
+			this.serverPush.getConnectionIds().stream()
+					.filter(connectionId -> !before.contains(connectionId))
+					.forEach(connectionIds::add);
+		}
+		assertThat(connectionIds).hasSize(CLIENTS);
+		MessageChannel splitInput = splitFlow.getInputChannel();
+		Message<String> seed = MessageBuilder.withPayload("seed").build();
+		long dropped = this.serverPush.getStatistics().dropped();
+		for (int round = 1; round <= 3; round++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < PUSHES; i++) {
+				splitInput.send(seed);
+			}
+			awaitReceived(received, CLIENTS * PUSHES);
+			double split = CLIENTS * PUSHES * 1_000_000_000d / (System.nanoTime() - start);
+			start = System.nanoTime();
+			for (int i = 0; i < PUSHES; i++) {
+				this.serverPush.push("Hello from server", connectionIds);
+			}
+			awaitReceived(received, CLIENTS * PUSHES);
+			double push = CLIENTS * PUSHES * 1_000_000_000d / (System.nanoTime() - start);
+			LOGGER.info(String.format("Round %d, %d clients: split per client %,.0f messages/sec, "
+					+ "server push %,.0f messages/sec", round, CLIENTS, split, push));
+			LOGGER.info("  " + this.serverPush.getStatistics());
+		}
+		assertThat(this.serverPush.getStatistics().dropped()).isEqualTo(dropped);
+		splitFlow.destroy();
+		for (Socket client : clients) {
+			client.close();
+		}
+	}
+
+	/**
+	 * Connect to the server and count the messages received, on a new thread.
+	 */
+	private Socket connect(LongAdder received) throws IOException {
+		Socket socket = new Socket("localhost", this.properties.getServerPort());
+		Thread thread = new Thread(() -> {
+			try {
+				BufferedReader reader =
+						new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+				while (reader.readLine() != null) {
+					received.increment();
+				}
+			}
+			catch (IOException e) {
+				// closed
+			}
+		});
+		thread.setDaemon(true);
+		thread.start();
+		return socket;
+	}
+
+	private String awaitNewConnection(Set<String> before) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			for (String connectionId : this.serverPush.getConnectionIds()) {
+				if (!before.contains(connectionId)) {
+					return connectionId;
+				}
+			}
+			Thread.sleep(100);
+		}
+		throw new AssertionError("No new connection");
+	}
+
+	private void awaitDisconnected(String connectionId) throws InterruptedException {
+		for (int i = 0; i < 100 && this.serverPush.getConnectionIds().contains(connectionId); i++) {
+			Thread.sleep(100);
+		}
+		assertThat(this.serverPush.getConnectionIds()).doesNotContain(connectionId);
+	}
+
+	private static void awaitReceived(LongAdder received, long expected) throws InterruptedException {
+		for (int i = 0; i < 30_000 && received.sum() < expected; i++) {
+			Thread.sleep(1);
+		}
+		assertThat(received.sum()).isGreaterThanOrEqualTo(expected);
+		received.reset();
+	}
+
+}